@@ -0,0 +1,124 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Compares JMH CSV results against a stored baseline. Both the time per operation and the
+ * normalized allocation per operation are checked, since lower is better for both. A result
+ * regresses if it is worse than the baseline by more than the tolerance, as a fraction, and
+ * the two confidence intervals JMH reports as the score error do not overlap, so that a noisy
+ * run cannot fail on its own.
+ *
+ * Usage: java -cp benchmarks.jar com.ariweiland.hyperoctahedral.benchmark.BaselineComparison
+ *        baseline.csv results.csv [tolerance]
+ * @author Ari Weiland
+ */
+public class BaselineComparison {
+
+    public static final double DEFAULT_TOLERANCE = 0.25;
+
+    private static final String ALLOCATION = "gc.alloc.rate.norm";
+
+    private final double tolerance;
+
+    public BaselineComparison(double tolerance) {
+        this.tolerance = tolerance;
+    }
+
+    /**
+     * Prints a line for every result found in both files and returns true if none regressed.
+     * @param baseline
+     * @param results
+     * @return
+     * @throws IOException
+     */
+    public boolean compare(File baseline, File results) throws IOException {
+        Map<String, double[]> before = read(baseline);
+        Map<String, double[]> after = read(results);
+        boolean passed = true;
+        for (Map.Entry<String, double[]> e : after.entrySet()) {
+            double score = e.getValue()[0];
+            double error = e.getValue()[1];
+            double[] old = before.get(e.getKey());
+            if (old == null) {
+                System.out.printf("NEW        %s = %.3f +- %.3f%n", e.getKey(), score, error);
+                continue;
+            }
+            double change = old[0] == 0 ? (score == 0 ? 0 : 1) : (score - old[0]) / old[0];
+            boolean regressed = change > tolerance && score - error > old[0] + old[1];
+            passed &= !regressed;
+            System.out.printf("%-10s %s: %.3f +- %.3f -> %.3f +- %.3f (%+.1f%%)%n", regressed ? "REGRESSED" : "ok",
+                    e.getKey(), old[0], old[1], score, error, 100 * change);
+        }
+        return passed;
+    }
+
+    /**
+     * Reads the time and allocation scores of a JMH CSV file, each with its score error,
+     * keyed by benchmark and parameters. An error JMH could not compute counts as zero.
+     * @param file
+     * @return
+     * @throws IOException
+     */
+    private Map<String, double[]> read(File file) throws IOException {
+        Map<String, double[]> scores = new LinkedHashMap<>();
+        try (BufferedReader reader = new BufferedReader(new FileReader(file))) {
+            List<String> header = split(reader.readLine());
+            int score = header.indexOf("Score");
+            int error = header.indexOf("Score Error (99.9%)");
+            String line;
+            while ((line = reader.readLine()) != null) {
+                List<String> fields = split(line);
+                String benchmark = fields.get(0);
+                if (benchmark.contains(":") && !benchmark.endsWith(ALLOCATION)) {
+                    continue;
+                }
+                StringBuilder key = new StringBuilder(benchmark);
+                for (int i=0; i<header.size(); i++) {
+                    if (header.get(i).startsWith("Param: ") && !fields.get(i).isEmpty()) {
+                        key.append(' ').append(header.get(i).substring(7)).append('=').append(fields.get(i));
+                    }
+                }
+                double margin = error < 0 ? 0 : Double.parseDouble(fields.get(error));
+                scores.put(key.toString(), new double[] {Double.parseDouble(fields.get(score)),
+                        Double.isNaN(margin) ? 0 : margin});
+            }
+        }
+        return scores;
+    }
+
+    private List<String> split(String line) {
+        List<String> fields = new ArrayList<>();
+        StringBuilder field = new StringBuilder();
+        boolean quoted = false;
+        for (char c : line.toCharArray()) {
+            if (c == '"') {
+                quoted = !quoted;
+            } else if (c == ',' && !quoted) {
+                fields.add(field.toString());
+                field.setLength(0);
+            } else {
+                field.append(c);
+            }
+        }
+        fields.add(field.toString());
+        return fields;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the baseline and the results to compare!");
+        }
+        double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_TOLERANCE;
+        if (!new BaselineComparison(tolerance).compare(new File(args[0]), new File(args[1]))) {
+            System.exit(1);
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.format.ResultFormatType;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.File;
+import java.io.IOException;
+
+/**
+ * Runs every benchmark in this package with the GC profiler attached, so each result also
+ * reports allocation per operation, and writes the results as CSV. If a baseline CSV is given,
+ * the new results are compared against it and the run fails on any regression.
+ *
+ * Usage: java -jar benchmarks.jar [results.csv] [baseline.csv] [tolerance]
+ * @author Ari Weiland
+ */
+public class BenchmarkRunner {
+
+    public static void main(String[] args) throws RunnerException, IOException {
+        String results = args.length > 0 ? args[0] : "results.csv";
+        Options options = new OptionsBuilder()
+                .include(BenchmarkRunner.class.getPackage().getName() + ".*Benchmark")
+                .addProfiler(GCProfiler.class)
+                .resultFormat(ResultFormatType.CSV)
+                .result(results)
+                .build();
+        new Runner(options).run();
+        if (args.length > 1) {
+            double tolerance = args.length > 2 ? Double.parseDouble(args[2]) : BaselineComparison.DEFAULT_TOLERANCE;
+            boolean passed = new BaselineComparison(tolerance).compare(new File(args[1]), new File(results));
+            if (!passed) {
+                System.exit(1);
+            }
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import com.ariweiland.hyperoctahedral.CharacterTableGenerator;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a single cold calculateChi call, from a fresh generator so the memo starts empty,
+ * and with bundled tables turned off so the character is computed rather than read.
+ * The diagram is taken from the middle of the canonical row order and the class is a
+ * fixed-point-free class, which are the expensive cases.
+ * @author Ari Weiland
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class CalculateChiBenchmark {
+
+    @Param({"12", "16"})
+    public int n;
+
+    private YoungDiagram yd;
+    private IntegerPartition partition;
+    private SignedYoungDiagram syd;
+    private SignedIntegerPartition signedPartition;
+
+    @Setup
+    public void setup() {
+        List<YoungDiagram> diagrams = YoungDiagram.all(n);
+        yd = diagrams.get(diagrams.size() / 2);
+        partition = new IntegerPartition(new int[] {n - n / 2, n / 2});
+        List<SignedYoungDiagram> signedDiagrams = SignedYoungDiagram.all(n / 2);
+        syd = signedDiagrams.get(signedDiagrams.size() / 2);
+        signedPartition = new SignedIntegerPartition(new int[] {n / 2 - n / 4}, new int[] {n / 4});
+    }
+
+    @Benchmark
+    public int sn() {
+        return fresh().calculateChi(yd, partition, 0);
+    }
+
+    @Benchmark
+    public int hn() {
+        return fresh().calculateChi(syd, signedPartition, 0);
+    }
+
+    private static CharacterTableGenerator fresh() {
+        CharacterTableGenerator gen = new CharacterTableGenerator();
+        gen.setUseBundledTables(false);
+        return gen;
+    }
+}
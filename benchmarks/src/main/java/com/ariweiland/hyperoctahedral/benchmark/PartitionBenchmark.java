@@ -0,0 +1,34 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the enumeration of all partitions and all signed partitions of n.
+ * @author Ari Weiland
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class PartitionBenchmark {
+
+    @Param({"10", "20"})
+    public int n;
+
+    @Benchmark
+    public List<IntegerPartition> integerPartitions() {
+        return IntegerPartition.all(n);
+    }
+
+    @Benchmark
+    public List<SignedIntegerPartition> signedIntegerPartitions() {
+        return SignedIntegerPartition.all(n / 2);
+    }
+}
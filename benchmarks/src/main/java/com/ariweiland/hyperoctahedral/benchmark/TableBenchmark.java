@@ -0,0 +1,51 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import com.ariweiland.hyperoctahedral.CharacterTableGenerator;
+import com.ariweiland.hyperoctahedral.SymmetricFunctionGenerator;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures full table runs of both engines, each from a fresh generator. H_n is run at n / 2
+ * so that both tables have a comparable number of cells. Bundled tables are turned off, so the
+ * recursive engine computes every table rather than reading it.
+ * @author Ari Weiland
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(3)
+public class TableBenchmark {
+
+    @Param({"8", "12", "14"})
+    public int n;
+
+    @Benchmark
+    public int[][] snTable() {
+        return recursive().generateSnTable(n);
+    }
+
+    @Benchmark
+    public int[][] hnTable() {
+        return recursive().generateHnTable(n / 2);
+    }
+
+    @Benchmark
+    public int[][] snTableSymmetric() {
+        return new SymmetricFunctionGenerator().generateSnTable(n);
+    }
+
+    @Benchmark
+    public int[][] hnTableSymmetric() {
+        return new SymmetricFunctionGenerator().generateHnTable(n / 2);
+    }
+
+    private static CharacterTableGenerator recursive() {
+        CharacterTableGenerator gen = new CharacterTableGenerator();
+        gen.setUseBundledTables(false);
+        return gen;
+    }
+}
@@ -0,0 +1,41 @@
+package com.ariweiland.hyperoctahedral.benchmark;
+
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures YoungDiagram.reduce over every diagram of size n for a fixed hook length.
+ * @author Ari Weiland
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(3)
+public class YoungDiagramBenchmark {
+
+    @Param({"10", "20"})
+    public int n;
+
+    @Param({"1", "3", "7"})
+    public int hookLength;
+
+    private List<YoungDiagram> diagrams;
+
+    @Setup
+    public void setup() {
+        diagrams = YoungDiagram.all(n);
+    }
+
+    @Benchmark
+    public void reduce(Blackhole bh) {
+        for (YoungDiagram yd : diagrams) {
+            bh.consume(yd.reduce(hookLength));
+        }
+    }
+}
@@ -0,0 +1,141 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.TreeSet;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Generates many tables in one JVM. Tables are given as a comma separated list of types and
+ * ranges, such as S1-S30,H1-H15,S40,D4-D10, and each one is streamed to its own file in the output
+ * directory as it is generated, one exact row at a time. All tables share one
+ * CharacterTableGenerator, and they are processed in increasing n within each group. Tables in
+ * BundledTables are read from there, and the first table of a group past them starts from a memo
+ * seeded with every bundled table of that group, so every table that is computed starts with
+ * the memo left warm by the smaller tables before it. A summary with the time of every table is printed at the end
+ * and also written to summary.txt.
+ *
+ * Usage: BatchGenerator S1-S30,H1-H15 outputDirectory
+ * @author Ari Weiland
+ */
+public class BatchGenerator {
+
+    // the end of a range may repeat the type, but not change it
+    private static final Pattern RANGE = Pattern.compile("([dhs])(\\d+)(?:-\\1?(\\d+))?");
+
+    private final CharacterTableGenerator gen = new CharacterTableGenerator();
+    private final File directory;
+    private boolean seededSn = false;
+    private boolean seededHn = false;
+
+    public BatchGenerator(File directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Returns the table types in a list of types and ranges, in the order that they should be
+     * generated: all S tables by increasing n, then all H tables, then all D tables, the D_n tables
+     * after the H_n tables they are derived from. Duplicates are dropped.
+     * @param spec
+     * @return
+     */
+    public static List<String> parse(String spec) {
+        TreeSet<Integer> symmetric = new TreeSet<>();
+        TreeSet<Integer> hyperoctahedral = new TreeSet<>();
+        TreeSet<Integer> even = new TreeSet<>();
+        for (String item : spec.toLowerCase().split(",")) {
+            Matcher m = RANGE.matcher(item.trim());
+            if (!m.matches()) {
+                throw new IllegalArgumentException("Illegal table range '" + item + "'. " +
+                        "Specify a type like S10 or a range like S1-S30, within one group.");
+            }
+            int start = Integer.parseInt(m.group(2));
+            int end = m.group(3) == null ? start : Integer.parseInt(m.group(3));
+            if (end < start) {
+                throw new IllegalArgumentException("Illegal table range '" + item + "'. It ends before it starts.");
+            }
+            TreeSet<Integer> group = m.group(1).equals("s") ? symmetric : m.group(1).equals("h") ? hyperoctahedral : even;
+            for (int n=start; n<=end; n++) {
+                group.add(n);
+            }
+        }
+        List<String> types = new ArrayList<>();
+        for (int n : symmetric) {
+            types.add("S" + n);
+        }
+        for (int n : hyperoctahedral) {
+            types.add("H" + n);
+        }
+        for (int n : even) {
+            types.add("D" + n);
+        }
+        return types;
+    }
+
+    /**
+     * Generates every table in order and writes the summary.
+     * @param types
+     * @throws IOException
+     */
+    public void run(List<String> types) throws IOException {
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create the output directory " + directory);
+        }
+        List<String> summary = new ArrayList<>();
+        summary.add(String.format("%-6s %8s %12s %12s", "table", "rows", "millis", "memo"));
+        long total = System.nanoTime();
+        for (String type : types) {
+            long start = System.nanoTime();
+            seed(type);
+            int rows;
+            try (Writer out = new BufferedWriter(new FileWriter(new File(directory, type + ".txt")))) {
+                rows = new TextTableWriter(out).writeTable(gen, type);
+            }
+            String line = String.format("%-6s %8d %12.1f %12d", type, rows, (System.nanoTime() - start) / 1e6, gen.memoSize());
+            System.out.println(line);
+            summary.add(line);
+        }
+        summary.add(String.format("%-6s %8d %12.1f", "total", types.size(), (System.nanoTime() - total) / 1e6));
+        System.out.println(summary.get(summary.size() - 1));
+        try (PrintWriter out = new PrintWriter(new FileWriter(new File(directory, "summary.txt")))) {
+            for (String line : summary) {
+                out.println(line);
+            }
+        }
+    }
+
+    /**
+     * Seeds the memo with the bundled tables of S_n, or of H_n for H_n and D_n, before the first
+     * table of the group past them. D_n reads the characters of H_n, so it only needs the seed
+     * past MAX_HN too.
+     */
+    private void seed(String type) {
+        String group = type.charAt(0) == 'S' ? "S" : "H";
+        int n = Integer.parseInt(type.substring(1));
+        if (BundledTables.contains(group + n) || !BundledTables.contains(group + 0)) {
+            return;
+        }
+        if (group.equals("S") && !seededSn) {
+            BundledTables.seed(gen, BundledTables.MAX_SN, -1);
+            seededSn = true;
+        } else if (group.equals("H") && !seededHn) {
+            BundledTables.seed(gen, -1, BundledTables.MAX_HN);
+            seededHn = true;
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the tables and the output directory!\n" +
+                    "For example, S1-S30,H1-H15 tables");
+        }
+        new BatchGenerator(new File(args[1])).run(parse(args[0]));
+    }
+}
@@ -0,0 +1,283 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A long-running server that answers single character lookups over a loopback TCP socket, so
+ * the memo stays warm between requests. Each connection is read and written on its own thread,
+ * and its request lines are answered on a fixed pool of one worker per processor. Each worker
+ * has its own bounded generator for the life of the server, so queries never wait on a lock,
+ * every worker's memo stays warm for the lines it answers next, and the memos together never
+ * hold more than the number of workers times the bound.
+ *
+ * Answers are exact. Characters are computed in 64 bits, and the closed-form columns, such as
+ * the degrees, in arbitrary precision. A query whose diagram has a degree past 64 bits, at a
+ * column without a closed form, answers ERR.
+ *
+ * The protocol is line based. Each request line holds one or more queries separated by ';',
+ * and gets exactly one response line with the answers in the same order, also separated by ';'.
+ * Clients may pipeline any number of lines without waiting; responses are flushed whenever the
+ * server runs out of buffered input. Queries look like:
+ *
+ *   S 3,1 2,2          the character of S_4 irreducible [3,1] at the class [2,2]
+ *   H 2|1 1,1|1        the character of H_4 irreducible {[2],[1]} at the class {[1,1],[1]}
+ *   H |2 2|            empty components are left blank
+ *
+ * A query that fails answers ERR followed by the reason. The line STATS answers with throughput
+ * and latency figures, and QUIT closes the connection.
+ *
+ * Usage: CharacterServer [port] [maxMemoSize per worker]
+ * @author Ari Weiland
+ */
+public class CharacterServer {
+
+    public static final int DEFAULT_PORT = 7077;
+    public static final int DEFAULT_MEMO_SIZE = 10000000;
+
+    private final ThreadLocal<CharacterTableGenerator> generators;
+    private final Map<Thread, CharacterTableGenerator> all = new ConcurrentHashMap<>();
+    private final ExecutorService workers;
+    private final int port;
+    private final long started = System.nanoTime();
+    private final LongAdder queries = new LongAdder();
+    private final LongAdder lines = new LongAdder();
+    private final LongAdder nanos = new LongAdder();
+    private final LongAccumulator maxNanos = new LongAccumulator(Math::max, 0);
+
+    public CharacterServer(int port, final int maxMemoSize) {
+        this.port = port;
+        this.generators = new ThreadLocal<CharacterTableGenerator>() {
+            @Override
+            protected CharacterTableGenerator initialValue() {
+                CharacterTableGenerator gen = new CharacterTableGenerator(maxMemoSize);
+                all.put(Thread.currentThread(), gen);
+                return gen;
+            }
+        };
+        this.workers = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(), new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable r) {
+                Thread thread = new Thread(r, "character-worker");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Accepts connections until the process is stopped, reading and writing each on its own
+     * thread.
+     * @throws IOException
+     */
+    public void run() throws IOException {
+        ExecutorService pool = Executors.newCachedThreadPool();
+        try (ServerSocket server = new ServerSocket(port, 50, InetAddress.getLoopbackAddress())) {
+            System.out.println("Listening on " + server.getLocalSocketAddress());
+            while (true) {
+                final Socket socket = server.accept();
+                pool.execute(new Runnable() {
+                    @Override
+                    public void run() {
+                        serve(socket);
+                    }
+                });
+            }
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    private void serve(Socket socket) {
+        try (Socket s = socket;
+             BufferedReader in = new BufferedReader(new InputStreamReader(s.getInputStream(), StandardCharsets.UTF_8));
+             Writer out = new BufferedWriter(new OutputStreamWriter(s.getOutputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (line.equalsIgnoreCase("QUIT")) {
+                    break;
+                }
+                out.write(line.equalsIgnoreCase("STATS") ? stats() : answer(line));
+                out.write('\n');
+                if (!in.ready()) {
+                    out.flush();
+                }
+            }
+            out.flush();
+        } catch (IOException e) {
+            System.err.println("Connection failed: " + e);
+        }
+    }
+
+    /**
+     * Answers every query on one request line, on one of the workers.
+     * @param line
+     * @return
+     */
+    public String answer(final String line) {
+        try {
+            return workers.submit(new Callable<String>() {
+                @Override
+                public String call() {
+                    return answerNow(line);
+                }
+            }).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Answering was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Answering failed.", e.getCause());
+        }
+    }
+
+    private String answerNow(String line) {
+        long start = System.nanoTime();
+        String[] requests = line.split(";");
+        StringBuilder response = new StringBuilder();
+        for (int i=0; i<requests.length; i++) {
+            if (i > 0) {
+                response.append(';');
+            }
+            try {
+                response.append(query(requests[i].trim()));
+            } catch (RuntimeException e) {
+                response.append("ERR ").append(e.getMessage());
+            }
+        }
+        long elapsed = System.nanoTime() - start;
+        lines.increment();
+        queries.add(requests.length);
+        nanos.add(elapsed);
+        maxNanos.accumulate(elapsed);
+        return response.toString();
+    }
+
+    private String query(String request) {
+        String[] fields = request.split("\\s+");
+        if (fields.length != 3) {
+            throw new IllegalArgumentException("expected '<S|H> <diagram> <class>'");
+        }
+        if (fields[0].equalsIgnoreCase("S")) {
+            YoungDiagram yd = new YoungDiagram(parse(fields[1]));
+            IntegerPartition partition = new IntegerPartition(parse(fields[2]));
+            checkSizes(yd.getPartition().getSize(), partition.getSize());
+            if (ClosedFormColumns.isClosedForm(partition)) {
+                return ClosedFormColumns.calculateChi(yd, partition).toString();
+            }
+            return Long.toString(generators.get().generateLongSnRow(yd, Collections.singletonList(partition))[0]);
+        } else if (fields[0].equalsIgnoreCase("H")) {
+            String[] diagram = split(fields[1]);
+            String[] cls = split(fields[2]);
+            SignedYoungDiagram syd = new SignedYoungDiagram(new YoungDiagram(parse(diagram[0])), new YoungDiagram(parse(diagram[1])));
+            SignedIntegerPartition partition = new SignedIntegerPartition(parse(cls[0]), parse(cls[1]));
+            checkSizes(syd.getPositive().getPartition().getSize() + syd.getNegative().getPartition().getSize(), partition.getSize());
+            if (ClosedFormColumns.isClosedForm(partition)) {
+                return ClosedFormColumns.calculateChi(syd, partition).toString();
+            }
+            return Long.toString(generators.get().generateLongHnRow(syd, Collections.singletonList(partition))[0]);
+        } else {
+            throw new IllegalArgumentException("unknown group '" + fields[0] + "'");
+        }
+    }
+
+    private String stats() {
+        long count = queries.sum();
+        long lineCount = lines.sum();
+        double seconds = (System.nanoTime() - started) / 1e9;
+        return String.format("queries=%d lines=%d throughput=%.1f/s meanLineMicros=%.1f maxLineMicros=%.1f memo=%d",
+                count, lineCount, count / seconds, lineCount == 0 ? 0 : nanos.sum() / 1e3 / lineCount,
+                maxNanos.get() / 1e3, memoSize());
+    }
+
+    /**
+     * Returns the total memo size of every live worker's generator, dropping those of workers
+     * that have died.
+     */
+    private long memoSize() {
+        long size = 0;
+        for (Iterator<Map.Entry<Thread, CharacterTableGenerator>> it = all.entrySet().iterator(); it.hasNext(); ) {
+            Map.Entry<Thread, CharacterTableGenerator> e = it.next();
+            if (e.getKey().isAlive()) {
+                size += e.getValue().memoSize();
+            } else {
+                it.remove();
+            }
+        }
+        return size;
+    }
+
+    private static void checkSizes(int diagram, int partition) {
+        if (diagram != partition) {
+            throw new IllegalArgumentException("the diagram has size " + diagram + " but the class has size " + partition);
+        }
+    }
+
+    private static String[] split(String signed) {
+        int bar = signed.indexOf('|');
+        if (bar < 0) {
+            throw new IllegalArgumentException("expected '<positive>|<negative>' but got '" + signed + "'");
+        }
+        return new String[] {signed.substring(0, bar), signed.substring(bar + 1)};
+    }
+
+    /**
+     * Parses a comma separated list of positive parts into a partition in decreasing order.
+     * @param parts
+     * @return
+     */
+    private static int[] parse(String parts) {
+        if (parts.isEmpty()) {
+            return new int[0];
+        }
+        String[] fields = parts.split(",");
+        int[] p = new int[fields.length];
+        for (int i=0; i<fields.length; i++) {
+            p[i] = Integer.parseInt(fields[i].trim());
+            if (p[i] < 1) {
+                throw new IllegalArgumentException("parts must be positive");
+            }
+        }
+        Arrays.sort(p);
+        for (int i=0; i<p.length/2; i++) {
+            int temp = p[i];
+            p[i] = p[p.length - 1 - i];
+            p[p.length - 1 - i] = temp;
+        }
+        return p;
+    }
+
+    public static void main(String[] args) throws IOException {
+        int port = args.length > 0 ? Integer.parseInt(args[0]) : DEFAULT_PORT;
+        int maxMemoSize = args.length > 1 ? Integer.parseInt(args[1]) : DEFAULT_MEMO_SIZE;
+        new CharacterServer(port, maxMemoSize).run();
+    }
+}
@@ -0,0 +1,299 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SplitSignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SplitSignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Properties;
+
+/**
+ * Generates a table while periodically checkpointing it to a directory, so that a run that dies
+ * can be resumed without redoing finished work.
+ *
+ * Finished rows are appended to rows.txt as "index:values" lines. At every checkpoint the rows
+ * are synced to disk, the memo is snapshotted to memo.txt, and then checkpoint.properties is
+ * replaced to record the table type, how many rows are done and how long rows.txt was at that
+ * point. Each file is written to a temporary file and renamed into place, so the last
+ * checkpoint is always consistent, and a fresh run checkpoints before its first row, so it can
+ * be resumed at any point. Resuming cuts rows.txt back to its checkpointed length, restores the
+ * memo and carries on with the next row. Rows are computed exactly, as longs. When the table is done it is written to
+ * TYPE.txt in the directory, in the usual text format.
+ *
+ * Usage: CheckpointedGenerator S30 directory [interval seconds]
+ *        CheckpointedGenerator --resume directory [interval seconds]
+ * @author Ari Weiland
+ */
+public class CheckpointedGenerator {
+
+    public static final long DEFAULT_INTERVAL_SECONDS = 300;
+
+    private static final String ROWS = "rows.txt";
+    private static final String MEMO = "memo.txt";
+    private static final String CHECKPOINT = "checkpoint.properties";
+
+    private final CharacterTableGenerator gen = new CharacterTableGenerator();
+    private final File directory;
+    private final long intervalNanos;
+
+    public CheckpointedGenerator(File directory, long intervalSeconds) {
+        this.directory = directory;
+        this.intervalNanos = intervalSeconds * 1000000000L;
+    }
+
+    /**
+     * Starts generating a table from scratch, discarding any earlier checkpoint.
+     * Returns the finished table file.
+     * @param type
+     * @return
+     * @throws IOException
+     */
+    public File run(String type) throws IOException {
+        type = AbstractCharacterTableGenerator.checkType(type).toUpperCase();
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create the checkpoint directory " + directory);
+        }
+        Files.deleteIfExists(file(CHECKPOINT).toPath());
+        Files.deleteIfExists(file(MEMO).toPath());
+        Files.deleteIfExists(file(ROWS).toPath());
+        return generate(type, 0);
+    }
+
+    /**
+     * Resumes the table from the last checkpoint in the directory.
+     * Returns the finished table file.
+     * @return
+     * @throws IOException
+     */
+    public File resume() throws IOException {
+        Properties checkpoint = new Properties();
+        try (InputStreamReader in = new InputStreamReader(new FileInputStream(file(CHECKPOINT)), StandardCharsets.UTF_8)) {
+            checkpoint.load(in);
+        }
+        String type = checkpoint.getProperty("type");
+        int rows = Integer.parseInt(checkpoint.getProperty("rows"));
+        long bytes = Long.parseLong(checkpoint.getProperty("bytes"));
+        try (RandomAccessFile raf = new RandomAccessFile(file(ROWS), "rw")) {
+            if (raf.length() < bytes) {
+                throw new IOException(file(ROWS) + " is shorter than its checkpoint.");
+            }
+            raf.setLength(bytes);
+        }
+        if (file(MEMO).exists()) {
+            readMemo();
+        }
+        System.out.println("Resuming " + type + " at row " + rows + " with " + gen.memoSize() + " memoized characters.");
+        return generate(type, rows);
+    }
+
+    private File generate(String type, int from) throws IOException {
+        int total = AbstractCharacterTableGenerator.size(type);
+        int n = Integer.parseInt(type.substring(1));
+        try (FileOutputStream stream = new FileOutputStream(file(ROWS), true);
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            CheckpointWriter writer = new CheckpointWriter(type, from, stream, out);
+            if (from == 0) {
+                writer.checkpoint();
+            }
+            if (type.charAt(0) == 'S') {
+                List<YoungDiagram> yds = YoungDiagram.all(n);
+                List<IntegerPartition> ips = IntegerPartition.all(n);
+                for (int i=from; i<total; i++) {
+                    writer.write(i, gen.generateLongSnRow(yds.get(i), ips));
+                }
+            } else if (type.charAt(0) == 'H') {
+                List<SignedYoungDiagram> syds = SignedYoungDiagram.all(n);
+                List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+                for (int i=from; i<total; i++) {
+                    writer.write(i, gen.generateLongHnRow(syds.get(i), sips));
+                }
+            } else {
+                List<SplitSignedYoungDiagram> ssyds = SplitSignedYoungDiagram.all(n);
+                List<SplitSignedIntegerPartition> ssips = SplitSignedIntegerPartition.all(n);
+                for (int i=from; i<total; i++) {
+                    writer.write(i, gen.generateLongDnRow(ssyds.get(i), ssips));
+                }
+            }
+            writer.checkpoint();
+        }
+        File table = file(type + ".txt");
+        try (BufferedReader in = reader(file(ROWS));
+             Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(table), StandardCharsets.UTF_8))) {
+            TextTableWriter writer = new TextTableWriter(out);
+            for (int i=0; i<total; i++) {
+                String line = in.readLine();
+                writer.rowGenerated(i, ShardMerger.parseRow(line.substring(line.indexOf(':') + 1)));
+            }
+        }
+        return table;
+    }
+
+    private File file(String name) {
+        return new File(directory, name);
+    }
+
+    private static BufferedReader reader(File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Writes to a temporary file, then renames it over the target so readers never see half of it.
+     */
+    private abstract class AtomicWrite {
+
+        abstract void write(Writer out) throws IOException;
+
+        void to(String name) throws IOException {
+            File temp = file(name + ".tmp");
+            try (FileOutputStream stream = new FileOutputStream(temp);
+                 Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+                write(out);
+                out.flush();
+                stream.getFD().sync();
+            }
+            Files.move(temp.toPath(), file(name).toPath(), StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        }
+    }
+
+    /**
+     * Writes the memo as lines of "S|suffix|diagram|chi" or "H|suffix|diagram|chi", where signed
+     * partitions are written as positive/negative.
+     * @throws IOException
+     */
+    private void writeMemo() throws IOException {
+        new AtomicWrite() {
+            @Override
+            void write(Writer out) throws IOException {
+                for (Map.Entry<IntegerPartition, Map<YoungDiagram, Long>> e : gen.getSnEvaluator().getMemo().entrySet()) {
+                    for (Map.Entry<YoungDiagram, Long> chi : e.getValue().entrySet()) {
+                        out.write("S|" + format(e.getKey()) + "|" + format(chi.getKey().getPartition()) + "|" + chi.getValue() + "\n");
+                    }
+                }
+                for (Map.Entry<SignedIntegerPartition, Map<SignedYoungDiagram, Long>> e : gen.getHnEvaluator().getMemo().entrySet()) {
+                    String suffix = format(e.getKey().getPositive()) + "/" + format(e.getKey().getNegative());
+                    for (Map.Entry<SignedYoungDiagram, Long> chi : e.getValue().entrySet()) {
+                        SignedYoungDiagram syd = chi.getKey();
+                        String diagram = format(syd.getPositive().getPartition()) + "/" + format(syd.getNegative().getPartition());
+                        out.write("H|" + suffix + "|" + diagram + "|" + chi.getValue() + "\n");
+                    }
+                }
+            }
+        }.to(MEMO);
+    }
+
+    private void readMemo() throws IOException {
+        try (BufferedReader in = reader(file(MEMO))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                String[] fields = line.split("\\|", -1);
+                long chi = Long.parseLong(fields[3]);
+                if (fields[0].equals("S")) {
+                    gen.getSnEvaluator().putAll(new IntegerPartition(parse(fields[1])),
+                            Collections.singletonMap(new YoungDiagram(parse(fields[2])), chi));
+                } else {
+                    String[] suffix = fields[1].split("/", -1);
+                    String[] diagram = fields[2].split("/", -1);
+                    gen.getHnEvaluator().putAll(new SignedIntegerPartition(parse(suffix[0]), parse(suffix[1])),
+                            Collections.singletonMap(new SignedYoungDiagram(
+                                    new YoungDiagram(parse(diagram[0])), new YoungDiagram(parse(diagram[1]))), chi));
+                }
+            }
+        }
+    }
+
+    private static String format(IntegerPartition partition) {
+        StringBuilder sb = new StringBuilder();
+        for (int part : partition.getPartition()) {
+            if (sb.length() > 0) {
+                sb.append(',');
+            }
+            sb.append(part);
+        }
+        return sb.toString();
+    }
+
+    private static int[] parse(String parts) {
+        if (parts.isEmpty()) {
+            return new int[0];
+        }
+        String[] fields = parts.split(",");
+        int[] partition = new int[fields.length];
+        for (int j=0; j<fields.length; j++) {
+            partition[j] = Integer.parseInt(fields[j]);
+        }
+        return partition;
+    }
+
+    private class CheckpointWriter {
+
+        private final String type;
+        private final FileOutputStream stream;
+        private final Writer out;
+        private int rows;
+        private long last = System.nanoTime();
+
+        private CheckpointWriter(String type, int rows, FileOutputStream stream, Writer out) {
+            this.type = type;
+            this.rows = rows;
+            this.stream = stream;
+            this.out = out;
+        }
+
+        private void write(int index, long[] row) throws IOException {
+            out.write(ShardGenerator.rowLine(index, row));
+            out.write('\n');
+            rows = index + 1;
+            if (System.nanoTime() - last >= intervalNanos) {
+                checkpoint();
+            }
+        }
+
+        private void checkpoint() throws IOException {
+            out.flush();
+            stream.getFD().sync();
+            final long bytes = stream.getChannel().position();
+            writeMemo();
+            new AtomicWrite() {
+                @Override
+                void write(Writer out) throws IOException {
+                    Properties checkpoint = new Properties();
+                    checkpoint.setProperty("type", type);
+                    checkpoint.setProperty("rows", Integer.toString(rows));
+                    checkpoint.setProperty("bytes", Long.toString(bytes));
+                    checkpoint.store(out, "Last consistent checkpoint");
+                }
+            }.to(CHECKPOINT);
+            System.out.println("Checkpoint: " + rows + " rows of " + type + " done.");
+            last = System.nanoTime();
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the table and the checkpoint directory, or --resume and the directory!\n" +
+                    "For example, S30 checkpoints or --resume checkpoints");
+        }
+        long interval = args.length > 2 ? Long.parseLong(args[2]) : DEFAULT_INTERVAL_SECONDS;
+        CheckpointedGenerator generator = new CheckpointedGenerator(new File(args[1]), interval);
+        File table = args[0].equals("--resume") ? generator.resume() : generator.run(args[0]);
+        System.out.println("Wrote " + table);
+    }
+}
@@ -0,0 +1,67 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.io.BufferedReader;
+import java.io.FileReader;
+import java.io.IOException;
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Decomposes class functions read from a file into irreducible characters. Each line of the file
+ * holds one function, as its values over the classes separated by commas, in the column order of
+ * the table. If every value is an integer the multiplicities are printed exactly, one line per
+ * function, and otherwise they are printed in floating point.
+ *
+ * Usage: ClassFunctionReader S20 file
+ * @author Ari Weiland
+ */
+public class ClassFunctionReader {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the table and the file of class functions!\n" +
+                    "For example, S10 functions.txt");
+        }
+        List<String[]> lines = new ArrayList<>();
+        boolean isExact = true;
+        try (BufferedReader in = new BufferedReader(new FileReader(args[1]))) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                line = line.trim();
+                if (!line.isEmpty()) {
+                    String[] values = line.split("\\s*,\\s*");
+                    for (String value : values) {
+                        isExact &= value.matches("-?\\d+");
+                    }
+                    lines.add(values);
+                }
+            }
+        }
+        ClassFunctionDecomposer decomposer = new ClassFunctionDecomposer(args[0]);
+        if (isExact) {
+            long[][] functions = new long[lines.size()][];
+            for (int m=0; m<functions.length; m++) {
+                functions[m] = new long[lines.get(m).length];
+                for (int c=0; c<functions[m].length; c++) {
+                    functions[m][c] = Long.parseLong(lines.get(m)[c]);
+                }
+            }
+            for (BigInteger[] multiplicities : decomposer.decompose(functions)) {
+                System.out.println(Arrays.toString(multiplicities));
+            }
+        } else {
+            double[][] functions = new double[lines.size()][];
+            for (int m=0; m<functions.length; m++) {
+                functions[m] = new double[lines.get(m).length];
+                for (int c=0; c<functions[m].length; c++) {
+                    functions[m][c] = Double.parseDouble(lines.get(m)[c]);
+                }
+            }
+            for (double[] multiplicities : decomposer.decompose(functions)) {
+                System.out.println(Arrays.toString(multiplicities));
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * The command line entry point, which prints a single character table. Given --batch, --shard,
+ * --merge, --checkpoint, --resume, --archive, --print, --verify or --decompose, it runs
+ * BatchGenerator, ShardGenerator, ShardMerger, CheckpointedGenerator, TableArchiver or
+ * ClassFunctionReader instead. Tables are printed exactly, one row at a time.
+ * @author Ari Weiland
+ */
+public class CommandLineGenerator {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length == 0) {
+            throw new IllegalArgumentException("Specify the type and size of the table as an argument!\n" +
+                    "For example, for the symmetric group with n=10, specify S10.\n" +
+                    "For the hyperoctahedral group with n=3, specify H3.\n" +
+                    "For its even-signed subgroup D_n with n=4, specify D4.\n" +
+                    "To generate many tables at once, specify --batch S1-S30,H1-H15 <output directory>.\n" +
+                    "To generate shard k of m of a table, specify --shard S30 k/m <output directory>.\n" +
+                    "To merge shards into one table, specify --merge <table file> <shard files>.\n" +
+                    "To checkpoint a long run, specify --checkpoint S30 <directory> [seconds between checkpoints],\n" +
+                    "and to pick it up again, specify --resume <directory>.\n" +
+                    "To archive an exact table in compressed binary, specify --archive S20 <file>,\n" +
+                    "and to print it back out, specify --print <file> [row].\n" +
+                    "To check a table with the orthogonality relations, specify --verify <file> or --verify S20.\n" +
+                    "To decompose class functions, one per line, specify --decompose S10 <file>.");
+        }
+        if (args[0].equals("--batch")) {
+            BatchGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args[0].equals("--shard")) {
+            ShardGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args[0].equals("--merge")) {
+            ShardMerger.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args[0].equals("--checkpoint")) {
+            CheckpointedGenerator.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args[0].equals("--resume")) {
+            CheckpointedGenerator.main(args);
+            return;
+        } else if (args[0].equals("--archive")) {
+            TableArchiver.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        } else if (args[0].equals("--print") || args[0].equals("--verify")) {
+            TableArchiver.main(args);
+            return;
+        } else if (args[0].equals("--decompose")) {
+            ClassFunctionReader.main(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+
+        CharacterTableGenerator gen = new CharacterTableGenerator();
+        Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+        new TextTableWriter(out).writeTable(gen, args[0]);
+    }
+}
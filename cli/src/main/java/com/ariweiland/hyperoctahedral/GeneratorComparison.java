@@ -0,0 +1,46 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.util.Arrays;
+
+/**
+ * Runs CharacterTableGenerator and SymmetricFunctionGenerator side by side on S_n and H_n for
+ * every n up to the given bounds, reporting the time each engine takes and checking that they
+ * produce identical tables. Bundled tables are turned off, so CharacterTableGenerator computes
+ * every table rather than reading it.
+ * @author Ari Weiland
+ */
+public class GeneratorComparison {
+
+    public static void main(String[] args) {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the largest n for S_n and for H_n!\n" +
+                    "For example, to compare S0 through S15 and H0 through H8, specify 15 8.");
+        }
+        int maxS = Integer.parseInt(args[0]);
+        int maxH = Integer.parseInt(args[1]);
+        boolean allEqual = true;
+        for (int n=0; n<=maxS; n++) {
+            allEqual &= compare("S" + n);
+        }
+        for (int n=0; n<=maxH; n++) {
+            allEqual &= compare("H" + n);
+        }
+        if (!allEqual) {
+            System.exit(1);
+        }
+    }
+
+    private static boolean compare(String type) {
+        CharacterTableGenerator gen = new CharacterTableGenerator();
+        gen.setUseBundledTables(false);
+        long start = System.nanoTime();
+        int[][] recursive = gen.generateTable(type);
+        long middle = System.nanoTime();
+        int[][] symmetric = new SymmetricFunctionGenerator().generateTable(type);
+        long end = System.nanoTime();
+        boolean equal = Arrays.deepEquals(recursive, symmetric);
+        System.out.printf("%-4s recursive %10.3f ms   symmetric %10.3f ms   %s%n", type,
+                (middle - start) / 1e6, (end - middle) / 1e6, equal ? "equal" : "MISMATCH");
+        return equal;
+    }
+}
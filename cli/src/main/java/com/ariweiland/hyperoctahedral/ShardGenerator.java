@@ -0,0 +1,128 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+
+/**
+ * Generates one shard of a table, so a large table can be spread over several processes or
+ * machines, each with its own memo. Shard k of m (counting from 0) holds the contiguous rows
+ * [k * rows / m, (k + 1) * rows / m) of the canonical row order from YoungDiagram.all(n) or
+ * SignedYoungDiagram.all(n), so every process agrees on the split without talking to the others.
+ *
+ * A shard file starts with a header line, holds one "index:values" line per row, and ends with
+ * the CRC32 of the row lines. Rows are computed exactly as longs, so shards of tables whose
+ * characters overflow an int are still correct. ShardMerger stitches the shards back into one table.
+ *
+ * Usage: ShardGenerator S30 3/8 outputDirectory
+ * @author Ari Weiland
+ */
+public class ShardGenerator {
+
+    public static final String HEADER = "# shard";
+    public static final String TRAILER = "# crc32";
+
+    /**
+     * Returns the first row and the end row (exclusive) of shard k of m.
+     * @param rows
+     * @param k
+     * @param m
+     * @return
+     */
+    public static int[] range(int rows, int k, int m) {
+        if (m < 1 || k < 0 || k >= m) {
+            throw new IllegalArgumentException("Illegal shard " + k + "/" + m + ". Shards count from 0 to m - 1.");
+        }
+        return new int[] {(int) ((long) k * rows / m), (int) ((long) (k + 1) * rows / m)};
+    }
+
+    /**
+     * Returns the name of the file holding shard k of m of the given table type.
+     * @param type
+     * @param k
+     * @param m
+     * @return
+     */
+    public static String fileName(String type, int k, int m) {
+        return type.toUpperCase() + ".shard-" + k + "-of-" + m + ".txt";
+    }
+
+    /**
+     * Generates shard k of m of the given table into the directory, and returns its file.
+     * @param type
+     * @param k
+     * @param m
+     * @param directory
+     * @return
+     * @throws IOException
+     */
+    public File generate(String type, int k, int m, File directory) throws IOException {
+        int rows = AbstractCharacterTableGenerator.size(type);
+        int[] range = range(rows, k, m);
+        if (!directory.isDirectory() && !directory.mkdirs()) {
+            throw new IOException("Could not create the output directory " + directory);
+        }
+        File file = new File(directory, fileName(type, k, m));
+        try (Writer out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), StandardCharsets.UTF_8))) {
+            out.write(String.format("%s %s %d %d %d %d %d%n", HEADER, type.toUpperCase(), k, m, range[0], range[1], rows));
+            ShardWriter writer = new ShardWriter(out);
+            RowSource table = new LazyTable(type);
+            for (int i=range[0]; i<range[1]; i++) {
+                writer.write(i, table.getRow(i));
+            }
+            out.write(String.format("%s %08x%n", TRAILER, writer.crc.getValue()));
+        }
+        return file;
+    }
+
+    /**
+     * Returns the line written for a row, without its line break.
+     * @param index
+     * @param row
+     * @return
+     */
+    static String rowLine(int index, long[] row) {
+        StringBuilder line = new StringBuilder();
+        line.append(index).append(':');
+        for (int j=0; j<row.length; j++) {
+            if (j > 0) {
+                line.append(',');
+            }
+            line.append(row[j]);
+        }
+        return line.toString();
+    }
+
+    private static class ShardWriter {
+
+        private final Writer out;
+        private final CRC32 crc = new CRC32();
+
+        private ShardWriter(Writer out) {
+            this.out = out;
+        }
+
+        private void write(int index, long[] row) throws IOException {
+            String line = rowLine(index, row) + "\n";
+            crc.update(line.getBytes(StandardCharsets.UTF_8));
+            out.write(line);
+        }
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 3 || !args[1].matches("\\d+/\\d+")) {
+            throw new IllegalArgumentException("Specify the table, the shard and the output directory!\n" +
+                    "For example, for shard 3 of 8 (counting from 0) of S30, specify S30 3/8 shards");
+        }
+        String[] shard = args[1].split("/");
+        File file = new ShardGenerator().generate(args[0], Integer.parseInt(shard[0]), Integer.parseInt(shard[1]), new File(args[2]));
+        System.out.println("Wrote " + file);
+    }
+}
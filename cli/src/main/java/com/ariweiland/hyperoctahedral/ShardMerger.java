@@ -0,0 +1,177 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * Stitches the shard files written by ShardGenerator into one table file, in the same text
+ * format as the command line prints. Every shard's checksum is verified, and the shards must
+ * all belong to the same table and split and cover every row exactly once, before anything is
+ * written. The CRC32 of the merged table is written next to it, in a file ending in .crc32.
+ *
+ * Usage: ShardMerger merged.txt shard files...
+ * @author Ari Weiland
+ */
+public class ShardMerger {
+
+    /**
+     * Merges the shards into the output file, and returns the CRC32 of the output.
+     * @param shards
+     * @param output
+     * @return
+     * @throws IOException
+     */
+    public long merge(List<File> shards, File output) throws IOException {
+        List<Shard> headers = new ArrayList<>();
+        for (File file : shards) {
+            Shard shard = readHeader(file);
+            verify(shard);
+            headers.add(shard);
+        }
+        checkCoverage(headers);
+        CRC32 crc = new CRC32();
+        try (OutputStream stream = new CheckedOutputStream(new FileOutputStream(output), crc);
+             Writer out = new BufferedWriter(new OutputStreamWriter(stream, StandardCharsets.UTF_8))) {
+            TextTableWriter writer = new TextTableWriter(out);
+            for (Shard shard : headers) {
+                try (BufferedReader in = open(shard.file)) {
+                    in.readLine();
+                    for (int i=shard.from; i<shard.to; i++) {
+                        String line = in.readLine();
+                        writer.rowGenerated(i, parseRow(line.substring(line.indexOf(':') + 1)));
+                    }
+                }
+            }
+        }
+        try (PrintWriter out = new PrintWriter(new File(output.getPath() + ".crc32"), "UTF-8")) {
+            out.printf("%08x  %s%n", crc.getValue(), output.getName());
+        }
+        return crc.getValue();
+    }
+
+    private Shard readHeader(File file) throws IOException {
+        try (BufferedReader in = open(file)) {
+            String line = in.readLine();
+            String[] fields = line == null ? new String[0] : line.split(" ");
+            if (fields.length != 8 || !line.startsWith(ShardGenerator.HEADER)) {
+                throw new IOException(file + " is not a shard file.");
+            }
+            Shard shard = new Shard();
+            shard.file = file;
+            shard.type = fields[2];
+            shard.k = Integer.parseInt(fields[3]);
+            shard.m = Integer.parseInt(fields[4]);
+            shard.from = Integer.parseInt(fields[5]);
+            shard.to = Integer.parseInt(fields[6]);
+            shard.rows = Integer.parseInt(fields[7]);
+            return shard;
+        }
+    }
+
+    /**
+     * Checks that a shard holds exactly its rows in order, and that its checksum matches.
+     * @param shard
+     * @throws IOException
+     */
+    private void verify(Shard shard) throws IOException {
+        CRC32 crc = new CRC32();
+        try (BufferedReader in = open(shard.file)) {
+            in.readLine();
+            for (int i=shard.from; i<shard.to; i++) {
+                String line = in.readLine();
+                if (line == null || !line.startsWith(i + ":")) {
+                    throw new IOException(shard.file + " is missing row " + i + ".");
+                }
+                crc.update((line + "\n").getBytes(StandardCharsets.UTF_8));
+            }
+            String trailer = in.readLine();
+            if (trailer == null || !trailer.startsWith(ShardGenerator.TRAILER)) {
+                throw new IOException(shard.file + " is incomplete.");
+            }
+            long expected = Long.parseLong(trailer.substring(ShardGenerator.TRAILER.length()).trim(), 16);
+            if (expected != crc.getValue()) {
+                throw new IOException(shard.file + " is corrupt: its checksum does not match.");
+            }
+        }
+    }
+
+    private void checkCoverage(List<Shard> shards) throws IOException {
+        if (shards.isEmpty()) {
+            throw new IOException("No shards to merge.");
+        }
+        Collections.sort(shards, new Comparator<Shard>() {
+            @Override
+            public int compare(Shard a, Shard b) {
+                return Integer.compare(a.k, b.k);
+            }
+        });
+        Shard first = shards.get(0);
+        int next = 0;
+        for (Shard shard : shards) {
+            if (!shard.type.equals(first.type) || shard.m != first.m || shard.rows != first.rows) {
+                throw new IOException(shard.file + " belongs to a different table or split than " + first.file + ".");
+            }
+            if (shard.from != next) {
+                throw new IOException("Rows " + next + " through " + (shard.from - 1) + " are missing or duplicated.");
+            }
+            next = shard.to;
+        }
+        if (next != first.rows) {
+            throw new IOException("Rows " + next + " through " + (first.rows - 1) + " are missing.");
+        }
+    }
+
+    private static BufferedReader open(File file) throws IOException {
+        return new BufferedReader(new InputStreamReader(new FileInputStream(file), StandardCharsets.UTF_8));
+    }
+
+    static long[] parseRow(String values) {
+        if (values.isEmpty()) {
+            return new long[0];
+        }
+        String[] fields = values.split(",");
+        long[] row = new long[fields.length];
+        for (int j=0; j<fields.length; j++) {
+            row[j] = Long.parseLong(fields[j]);
+        }
+        return row;
+    }
+
+    private static class Shard {
+        private File file;
+        private String type;
+        private int k;
+        private int m;
+        private int from;
+        private int to;
+        private int rows;
+    }
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the merged table file and the shard files!");
+        }
+        List<File> shards = new ArrayList<>();
+        for (int i=1; i<args.length; i++) {
+            shards.add(new File(args[i]));
+        }
+        long crc = new ShardMerger().merge(shards, new File(args[0]));
+        System.out.printf("Wrote %s (crc32 %08x)%n", args[0], crc);
+    }
+}
@@ -0,0 +1,154 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.table.CompactTable;
+import com.ariweiland.hyperoctahedral.table.CompressedTableReader;
+import com.ariweiland.hyperoctahedral.table.CompressedTableWriter;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.io.BufferedWriter;
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * Archives exact tables in the compressed binary format, prints archived tables back out in the
+ * usual text format, and certifies tables with the orthogonality relations.
+ *
+ * Usage: TableArchiver S20 file      generates S20 exactly and writes it to the file
+ *        TableArchiver --print file  prints the table in the file
+ *        TableArchiver --print file i  prints only row i, decoding only its block
+ *        TableArchiver --verify file   verifies the table in the file, streaming its rows
+ *        TableArchiver --verify S20    generates S20 exactly and verifies it
+ *        TableArchiver --bundle dir    regenerates the bundled tables into the directory
+ * @author Ari Weiland
+ */
+public class TableArchiver {
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            throw new IllegalArgumentException("Specify the table and the file to archive it in, or --print and the file!\n" +
+                    "For example, S20 S20.ctb or --print S20.ctb");
+        }
+        if (args[0].equals("--bundle")) {
+            File directory = new File(args[1]);
+            if (!directory.isDirectory() && !directory.mkdirs()) {
+                throw new IOException("Could not create the bundle directory " + directory);
+            }
+            CharacterTableGenerator gen = new CharacterTableGenerator();
+            gen.setUseBundledTables(false);
+            for (String group : new String[] {"S", "H"}) {
+                int max = group.equals("S") ? BundledTables.MAX_SN : BundledTables.MAX_HN;
+                for (int n=0; n<=max; n++) {
+                    CompactTable table = gen.generateCompactTable(group + n);
+                    File file = new File(directory, group + n + BundledTables.SUFFIX);
+                    try (CompressedTableWriter writer = new CompressedTableWriter(file, group + n, table.getColumns())) {
+                        writer.writeTable(table);
+                    }
+                    System.out.println("Wrote " + group + n + " to " + file + " in " + file.length() + " bytes.");
+                }
+            }
+        } else if (args[0].equals("--verify")) {
+            String type;
+            long start;
+            OrthogonalityVerifier.Result result;
+            if (new File(args[1]).isFile()) {
+                try (ReaderPerThread table = new ReaderPerThread(new File(args[1]))) {
+                    type = table.getType();
+                    start = System.nanoTime();
+                    result = new OrthogonalityVerifier().verify(table, type);
+                }
+            } else {
+                type = args[1];
+                CompactTable table = new CharacterTableGenerator().generateCompactTable(type);
+                start = System.nanoTime();
+                result = new OrthogonalityVerifier().verify(table, type);
+            }
+            System.out.printf("%s: %s (%.1f s)%n", type.toUpperCase(), result, (System.nanoTime() - start) / 1e9);
+            if (!result.isValid()) {
+                System.exit(1);
+            }
+        } else if (args[0].equals("--print")) {
+            Writer out = new BufferedWriter(new OutputStreamWriter(System.out));
+            try (CompressedTableReader reader = new CompressedTableReader(new File(args[1]))) {
+                if (args.length > 2) {
+                    int i = Integer.parseInt(args[2]);
+                    out.write(Arrays.toString(reader.readRow(i)) + "\n");
+                    out.flush();
+                } else {
+                    TextTableWriter writer = new TextTableWriter(out);
+                    for (int i=0; i<reader.getRows(); i++) {
+                        writer.rowGenerated(i, reader.readRow(i));
+                    }
+                }
+            }
+        } else {
+            String type = AbstractCharacterTableGenerator.checkType(args[0]).toUpperCase();
+            CompactTable table = new CharacterTableGenerator().generateCompactTable(type);
+            File file = new File(args[1]);
+            try (CompressedTableWriter writer = new CompressedTableWriter(file, type, table.getColumns())) {
+                writer.writeTable(table);
+            }
+            System.out.println("Wrote " + type + " to " + file + " in " + file.length() + " bytes.");
+        }
+    }
+
+    /**
+     * Streams a compressed table file with a reader for each thread, so the bands of a
+     * verification each decode their own blocks instead of taking turns on one reader.
+     */
+    private static class ReaderPerThread implements RowSource, Closeable {
+
+        private final CompressedTableReader first;
+        private final Queue<CompressedTableReader> all = new ConcurrentLinkedQueue<>();
+        private final ThreadLocal<CompressedTableReader> readers;
+
+        private ReaderPerThread(final File file) throws IOException {
+            this.first = new CompressedTableReader(file);
+            all.add(first);
+            this.readers = new ThreadLocal<CompressedTableReader>() {
+                @Override
+                protected CompressedTableReader initialValue() {
+                    try {
+                        CompressedTableReader reader = new CompressedTableReader(file);
+                        all.add(reader);
+                        return reader;
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                }
+            };
+        }
+
+        private String getType() {
+            return first.getType();
+        }
+
+        @Override
+        public int getRows() {
+            return first.getRows();
+        }
+
+        @Override
+        public int getColumns() {
+            return first.getColumns();
+        }
+
+        @Override
+        public long[] getRow(int i) {
+            return readers.get().getRow(i);
+        }
+
+        @Override
+        public void close() throws IOException {
+            for (CompressedTableReader reader : all) {
+                reader.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,95 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SplitSignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SplitSignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Writes the rows of a table as they are generated, in the same {{...},{...}} text format that
+ * the command line has always printed. Nothing is buffered beyond the writer itself, so tables
+ * of any size can be streamed straight to a file.
+ * @author Ari Weiland
+ */
+public class TextTableWriter implements TableListener {
+
+    private final Writer out;
+
+    public TextTableWriter(Writer out) {
+        this.out = out;
+    }
+
+    /**
+     * Computes the table of the given type row by row with the generator, exactly as longs, and
+     * writes each row as it is done. Returns the number of rows.
+     * @param gen
+     * @param type
+     * @return
+     */
+    public int writeTable(CharacterTableGenerator gen, String type) {
+        type = AbstractCharacterTableGenerator.checkType(type);
+        int n = Integer.parseInt(type.substring(1));
+        int rows = AbstractCharacterTableGenerator.size(type);
+        if (type.charAt(0) == 's') {
+            List<YoungDiagram> yds = YoungDiagram.all(n);
+            List<IntegerPartition> ips = IntegerPartition.all(n);
+            for (int i=0; i<rows; i++) {
+                rowGenerated(i, gen.generateLongSnRow(yds.get(i), ips));
+            }
+        } else if (type.charAt(0) == 'h') {
+            List<SignedYoungDiagram> syds = SignedYoungDiagram.all(n);
+            List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+            for (int i=0; i<rows; i++) {
+                rowGenerated(i, gen.generateLongHnRow(syds.get(i), sips));
+            }
+        } else {
+            List<SplitSignedYoungDiagram> ssyds = SplitSignedYoungDiagram.all(n);
+            List<SplitSignedIntegerPartition> ssips = SplitSignedIntegerPartition.all(n);
+            for (int i=0; i<rows; i++) {
+                rowGenerated(i, gen.generateLongDnRow(ssyds.get(i), ssips));
+            }
+        }
+        return rows;
+    }
+
+    @Override
+    public void rowGenerated(int index, int[] row) {
+        long[] values = new long[row.length];
+        for (int j=0; j<row.length; j++) {
+            values[j] = row[j];
+        }
+        rowGenerated(index, values);
+    }
+
+    /**
+     * Writes a row of exact values, such as one read back from a compressed table.
+     * @param index
+     * @param row
+     */
+    public void rowGenerated(int index, long[] row) {
+        try {
+            out.write(index == 0 ? "{{" : "{");
+            for (int j=0; j<row.length; j++) {
+                out.write(Long.toString(row[j]));
+                if (j < row.length - 1) {
+                    out.write(",");
+                }
+            }
+            if (index < row.length - 1) {
+                out.write("},\n");
+            } else {
+                out.write("}}\n");
+                out.flush();
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.ariweiland.hyperoctahedral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.io.Reader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.List;
+import java.util.Properties;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Checks that checkpointed runs produce the same tables as a straight run, and that resuming
+ * cuts back rows written after the last checkpoint.
+ * @author Ari Weiland
+ */
+public class CheckpointedGeneratorTest {
+
+    private static final long NEVER = 1000000;
+
+    @TempDir
+    File directory;
+
+    private static String read(File file) throws IOException {
+        return new String(Files.readAllBytes(file.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private Properties checkpoint() throws IOException {
+        Properties checkpoint = new Properties();
+        try (Reader in = new InputStreamReader(new FileInputStream(new File(directory, "checkpoint.properties")), StandardCharsets.UTF_8)) {
+            checkpoint.load(in);
+        }
+        return checkpoint;
+    }
+
+    /**
+     * Rewrites the checkpoint as if it had been taken after the given number of rows.
+     */
+    private void rewind(int rows) throws IOException {
+        List<String> lines = Files.readAllLines(new File(directory, "rows.txt").toPath(), StandardCharsets.UTF_8);
+        long bytes = 0;
+        for (int i=0; i<rows; i++) {
+            bytes += lines.get(i).getBytes(StandardCharsets.UTF_8).length + 1;
+        }
+        Properties checkpoint = checkpoint();
+        checkpoint.setProperty("rows", Integer.toString(rows));
+        checkpoint.setProperty("bytes", Long.toString(bytes));
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(new File(directory, "checkpoint.properties")), StandardCharsets.UTF_8)) {
+            checkpoint.store(out, null);
+        }
+    }
+
+    @Test
+    public void testRun() throws IOException {
+        for (String type : new String[] {"S8", "H4", "D5"}) {
+            File table = new CheckpointedGenerator(directory, NEVER).run(type);
+            assertEquals(type + ".txt", table.getName());
+            assertEquals(ShardMergerTest.table(type), read(table), type);
+            assertEquals(Integer.toString(AbstractCharacterTableGenerator.size(type)), checkpoint().getProperty("rows"));
+        }
+    }
+
+    @Test
+    public void testResume() throws IOException {
+        new CheckpointedGenerator(directory, NEVER).run("S9");
+        rewind(11);
+        // a row cut off partway by the crash
+        try (Writer out = new OutputStreamWriter(new FileOutputStream(new File(directory, "rows.txt"), true), StandardCharsets.UTF_8)) {
+            out.write("30:1,2,");
+        }
+        File table = new CheckpointedGenerator(directory, NEVER).resume();
+        assertEquals(ShardMergerTest.table("S9"), read(table));
+    }
+
+    @Test
+    public void testResumeFromStart() throws IOException {
+        new CheckpointedGenerator(directory, NEVER).run("H3");
+        rewind(0);
+        new File(directory, "memo.txt").delete();
+        assertEquals(ShardMergerTest.table("H3"), read(new CheckpointedGenerator(directory, NEVER).resume()));
+    }
+
+    @Test
+    public void testShortRows() throws IOException {
+        new CheckpointedGenerator(directory, NEVER).run("S5");
+        try (RandomAccessFile raf = new RandomAccessFile(new File(directory, "rows.txt"), "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        try {
+            new CheckpointedGenerator(directory, NEVER).resume();
+            fail("Resumed from rows shorter than the checkpoint.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+}
@@ -0,0 +1,115 @@
+package com.ariweiland.hyperoctahedral;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Generates tables in shards and checks that ShardMerger stitches them back together exactly,
+ * and refuses shards that do not cover the table or do not match their checksums.
+ * @author Ari Weiland
+ */
+public class ShardMergerTest {
+
+    @TempDir
+    File directory;
+
+    static String table(String type) {
+        StringWriter out = new StringWriter();
+        new TextTableWriter(out).writeTable(new CharacterTableGenerator(), type);
+        return out.toString();
+    }
+
+    private List<File> shards(String type, int m) throws IOException {
+        List<File> shards = new ArrayList<>();
+        for (int k=0; k<m; k++) {
+            shards.add(new ShardGenerator().generate(type, k, m, directory));
+        }
+        return shards;
+    }
+
+    private String merge(List<File> shards) throws IOException {
+        File output = new File(directory, "merged.txt");
+        new ShardMerger().merge(shards, output);
+        return new String(Files.readAllBytes(output.toPath()), StandardCharsets.UTF_8);
+    }
+
+    private void assertRejected(List<File> shards, String reason) {
+        try {
+            merge(shards);
+            fail("Merged shards with " + reason + ".");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testRange() {
+        int next = 0;
+        for (int k=0; k<7; k++) {
+            int[] range = ShardGenerator.range(30, k, 7);
+            assertEquals(next, range[0]);
+            next = range[1];
+        }
+        assertEquals(30, next);
+    }
+
+    @Test
+    public void testMerge() throws IOException {
+        for (String type : new String[] {"S7", "H4", "D5"}) {
+            List<File> shards = shards(type, 3);
+            // the order of the files does not matter
+            assertEquals(table(type), merge(Arrays.asList(shards.get(2), shards.get(0), shards.get(1))), type);
+        }
+        assertEquals(table("S4"), merge(shards("S4", 8)));
+    }
+
+    @Test
+    public void testExactRows() throws IOException {
+        // the degree of [7,5,4,3,2,1] in S22 is 5462865408, past an int
+        File shard = new ShardGenerator().generate("S22", 0, 1, directory);
+        String text = new String(Files.readAllBytes(shard.toPath()), StandardCharsets.UTF_8);
+        assertTrue(text.contains(":5462865408,"));
+    }
+
+    @Test
+    public void testCoverage() throws IOException {
+        List<File> shards = shards("H3", 3);
+        assertRejected(shards.subList(0, 2), "a missing shard");
+        assertRejected(Arrays.asList(shards.get(0), shards.get(0), shards.get(1), shards.get(2)), "a duplicate shard");
+        List<File> mixed = new ArrayList<>(shards.subList(0, 2));
+        mixed.add(new ShardGenerator().generate("H3", 1, 2, directory));
+        assertRejected(mixed, "two splits");
+        List<File> other = new ArrayList<>(shards.subList(0, 2));
+        other.add(new ShardGenerator().generate("S3", 2, 3, directory));
+        assertRejected(other, "two tables");
+        assertFalse(new File(directory, "merged.txt").exists());
+    }
+
+    @Test
+    public void testChecksum() throws IOException {
+        List<File> shards = shards("S6", 2);
+        File shard = shards.get(1);
+        String text = new String(Files.readAllBytes(shard.toPath()), StandardCharsets.UTF_8);
+        int value = text.indexOf(':', text.indexOf('\n')) + 1;
+        char digit = text.charAt(value);
+        Files.write(shard.toPath(), (text.substring(0, value) + (digit == '9' ? '8' : '9')
+                + text.substring(value + 1)).getBytes(StandardCharsets.UTF_8));
+        assertRejected(shards, "a corrupt shard");
+        Files.write(shard.toPath(), text.substring(0, text.lastIndexOf(ShardGenerator.TRAILER)).getBytes(StandardCharsets.UTF_8));
+        assertRejected(shards, "an incomplete shard");
+    }
+}
@@ -0,0 +1,197 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SplitSignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.AbstractYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SplitSignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * A superclass for the character table engines, detailing the table methods that every engine
+ * provides. Tables are indexed with rows in the order of YoungDiagram.all(n) or
+ * SignedYoungDiagram.all(n), and columns in the order of IntegerPartition.all(n) or
+ * SignedIntegerPartition.all(n), so tables from different engines can be compared directly.
+ * Tables of D_n are derived from those of H_n, with rows in the order of
+ * SplitSignedYoungDiagram.all(n) and columns in the order of SplitSignedIntegerPartition.all(n).
+ * @author Ari Weiland
+ */
+public abstract class AbstractCharacterTableGenerator {
+
+    public int[][] generateTable(String type) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return generateSnTable(n);
+        } else if (type.charAt(0) == 'd') {
+            return generateDnTable(n);
+        } else {
+            return generateHnTable(n);
+        }
+    }
+
+    /**
+     * Returns the table type in lower case, such as "s10", "h3" or "d4".
+     * Throws an IllegalArgumentException if it is not a valid type.
+     * @param type
+     * @return
+     */
+    public static String checkType(String type) {
+        type = type.toLowerCase();
+        if (!Pattern.matches("[dhs]\\d+", type)) {
+            throw new IllegalArgumentException(
+                    "Illegal table argument. Must be 'H', 'S' or 'D' followed by a positive integer.\n" +
+                    "For example, for the symmetric group with n=10, specify S10.\n" +
+                    "For the hyperoctahedral group with n=3, specify H3.\n" +
+                    "For its even-signed subgroup D_n with n=4, specify D4.");
+        }
+        return type;
+    }
+
+    /**
+     * Returns the number of rows (and columns) in the table of the given type.
+     * @param type
+     * @return
+     */
+    public static int size(String type) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return IntegerPartition.all(n).size();
+        } else if (type.charAt(0) == 'd') {
+            return SplitSignedIntegerPartition.all(n).size();
+        } else {
+            return SignedIntegerPartition.all(n).size();
+        }
+    }
+
+    /**
+     * Returns the diagrams that index the rows of the table of the given type, in order. The rows
+     * of D_n are indexed by SplitSignedYoungDiagram.all(n) instead.
+     * @param type
+     * @return
+     */
+    public static List<? extends AbstractYoungDiagram<?>> diagrams(String type) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 'd') {
+            throw new IllegalArgumentException("The rows of D_n are indexed by SplitSignedYoungDiagram.all(n).");
+        } else if (type.charAt(0) == 's') {
+            return YoungDiagram.all(n);
+        } else {
+            return SignedYoungDiagram.all(n);
+        }
+    }
+
+    /**
+     * Returns the classes that index the columns of the table of the given type, in order.
+     * @param type
+     * @return
+     */
+    public static List<? extends AbstractPartition> classes(String type) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return IntegerPartition.all(n);
+        } else if (type.charAt(0) == 'd') {
+            return SplitSignedIntegerPartition.all(n);
+        } else {
+            return SignedIntegerPartition.all(n);
+        }
+    }
+
+    /**
+     * Returns the character table of the hyperoctahedral group H_n.
+     * @param n
+     * @return
+     */
+    public abstract int[][] generateHnTable(int n);
+
+    /**
+     * Returns the character table of the symmetric group S_n.
+     * @param n
+     * @return
+     */
+    public abstract int[][] generateSnTable(int n);
+
+    /**
+     * Returns the character table of D_n, derived from the tables of H_n and S_{n/2}.
+     * @param n
+     * @return
+     */
+    public int[][] generateDnTable(int n) {
+        List<SplitSignedYoungDiagram> rows = SplitSignedYoungDiagram.all(n);
+        List<SplitSignedIntegerPartition> cols = SplitSignedIntegerPartition.all(n);
+        Map<Object, Integer> hnRows = index(SignedYoungDiagram.all(n));
+        Map<Object, Integer> hnCols = index(SignedIntegerPartition.all(n));
+        Map<Object, Integer> snRows = index(YoungDiagram.all(n / 2));
+        Map<Object, Integer> snCols = index(IntegerPartition.all(n / 2));
+        int[][] hn = generateHnTable(n);
+        int[][] sn = n % 2 == 0 ? generateSnTable(n / 2) : null;
+        int[][] table = new int[rows.size()][cols.size()];
+        for (int i=0; i<table.length; i++) {
+            SplitSignedYoungDiagram row = rows.get(i);
+            for (int j=0; j<table[i].length; j++) {
+                SplitSignedIntegerPartition col = cols.get(j);
+                long chi = hn[hnRows.get(row.getDiagram())][hnCols.get(col.getSignedPartition())];
+                long halfChi = 0;
+                if (row.isSplit() && col.isSplit()) {
+                    halfChi = sn[snRows.get(row.getDiagram().getPositive())][snCols.get(half(col))];
+                }
+                table[i][j] = (int) splitChi(chi, row.getSign(), col.getSign(), col.getPartition().length, halfChi);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the character of a D_n irreducible at a D_n class, given chi, the character of its
+     * H_n irreducible at the H_n class. Unsplit irreducibles are just restricted. The halves of a
+     * split irreducible {alpha, alpha} each take half of chi, except at a split class
+     * {2nu, []}, where they differ by 2^length(nu) times halfChi, the character of alpha at nu in
+     * S_{n/2}.
+     * @param chi
+     * @param rowSign
+     * @param colSign
+     * @param length
+     * @param halfChi
+     * @return
+     */
+    static long splitChi(long chi, int rowSign, int colSign, int length, long halfChi) {
+        if (rowSign == 0) {
+            return chi;
+        } else if (colSign == 0) {
+            return chi / 2;
+        } else {
+            return (chi + rowSign * colSign * (halfChi << length)) / 2;
+        }
+    }
+
+    /**
+     * Returns nu for a split class {2nu, []}.
+     * @param col
+     * @return
+     */
+    static IntegerPartition half(SplitSignedIntegerPartition col) {
+        int[] parts = col.getSignedPartition().getPositive().getPartition().clone();
+        for (int i=0; i<parts.length; i++) {
+            parts[i] /= 2;
+        }
+        return new IntegerPartition(parts);
+    }
+
+    private static Map<Object, Integer> index(List<?> list) {
+        Map<Object, Integer> index = new HashMap<>();
+        for (int i=0; i<list.size(); i++) {
+            index.put(list.get(i), i);
+        }
+        return index;
+    }
+}
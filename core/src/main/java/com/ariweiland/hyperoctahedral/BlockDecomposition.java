@@ -0,0 +1,346 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+import com.ariweiland.hyperoctahedral.young.AbstractYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Splits the table of S_n or H_n into p-blocks, grouping its rows by block and its columns by
+ * p-section, so that each block is a band of consecutive rows.
+ *
+ * By the Nakayama conjecture, two characters of S_n are in the same p-block exactly when their
+ * diagrams have the same p-core, and so the same p-weight. For an odd prime, the sign changes
+ * form a normal subgroup of H_n of order prime to p, so by Clifford theory a block of H_n sits
+ * over a block of some S_a x S_b: the characters (alpha, beta) of H_n are in the same p-block
+ * exactly when alpha and beta each have the same p-core and p-weight. For p = 2, the sign changes
+ * form a normal 2-subgroup that contains its own centralizer, so H_n has a single 2-block.
+ *
+ * The p-section of a class is the class of its p-part, so the p-regular classes make up the
+ * section of the identity. A k-cycle with k = p^a m, for m prime to p, has m p^a-cycles as its
+ * p-part, and for H_n they keep the sign of the cycle when p = 2, and are positive when p is odd.
+ * Summed over a block, the products of the characters at two classes in different sections
+ * vanish.
+ *
+ * Cores and p-parts take time linear in n, so the decomposition of S_50, with 204226
+ * characters, needs no table at all. Blocks and sections are ordered by their first row or
+ * column, and keep the table order within them.
+ * @author Ari Weiland
+ */
+public class BlockDecomposition {
+
+    private final int p;
+    private final int[] rowOrder;
+    private final int[] columnOrder;
+    private final int[] blockStarts;
+    private final int[] sectionStarts;
+    private final List<Block> blocks;
+    private final List<AbstractPartition> sections;
+
+    /**
+     * Decomposes the table of the given type, such as "S20" or "H12", at the prime p.
+     * @param type
+     * @param p
+     */
+    public BlockDecomposition(String type, int p) {
+        type = AbstractCharacterTableGenerator.checkType(type);
+        if (type.charAt(0) == 'd') {
+            throw new IllegalArgumentException("Only the blocks of S_n and H_n are supported.");
+        }
+        if (p < 2 || !BigInteger.valueOf(p).isProbablePrime(32)) {
+            throw new IllegalArgumentException(p + " is not a prime.");
+        }
+        this.p = p;
+        Map<Object, List<Integer>> rows = new LinkedHashMap<>();
+        List<? extends AbstractYoungDiagram<?>> diagrams = AbstractCharacterTableGenerator.diagrams(type);
+        for (int i=0; i<diagrams.size(); i++) {
+            group(rows, block(diagrams.get(i)), i);
+        }
+        Map<Object, List<Integer>> columns = new LinkedHashMap<>();
+        List<? extends AbstractPartition> classes = AbstractCharacterTableGenerator.classes(type);
+        for (int j=0; j<classes.size(); j++) {
+            group(columns, section(classes.get(j)), j);
+        }
+        this.blockStarts = new int[rows.size() + 1];
+        this.rowOrder = flatten(rows, diagrams.size(), blockStarts);
+        this.blocks = new ArrayList<>();
+        int b = 0;
+        for (Object label : rows.keySet()) {
+            List<?> key = (List<?>) label;
+            int[] weights = new int[key.size() - 1];
+            for (int k=0; k<weights.length; k++) {
+                weights[k] = (Integer) key.get(k + 1);
+            }
+            blocks.add(new Block((AbstractYoungDiagram<?>) key.get(0), weights, blockStarts[b], blockStarts[b + 1]));
+            b++;
+        }
+        this.sections = new ArrayList<>();
+        for (Object label : columns.keySet()) {
+            sections.add((AbstractPartition) label);
+        }
+        this.sectionStarts = new int[columns.size() + 1];
+        this.columnOrder = flatten(columns, classes.size(), sectionStarts);
+    }
+
+    public int getPrime() {
+        return p;
+    }
+
+    /**
+     * Returns the number of p-blocks.
+     * @return
+     */
+    public int getBlockCount() {
+        return blocks.size();
+    }
+
+    /**
+     * Returns the blocks, in order.
+     * @return
+     */
+    public List<Block> getBlocks() {
+        return blocks;
+    }
+
+    /**
+     * Returns the class of p-elements labeling each section, in order.
+     * @return
+     */
+    public List<AbstractPartition> getSections() {
+        return sections;
+    }
+
+    /**
+     * Returns the table row shown at each row of the view.
+     * @return
+     */
+    public int[] getRowOrder() {
+        return rowOrder.clone();
+    }
+
+    /**
+     * Returns the table column shown at each column of the view.
+     * @return
+     */
+    public int[] getColumnOrder() {
+        return columnOrder.clone();
+    }
+
+    /**
+     * Returns the first row of each block in the view, followed by the number of rows, so block
+     * b covers rows starts[b] through starts[b + 1] - 1.
+     * @return
+     */
+    public int[] getBlockStarts() {
+        return blockStarts.clone();
+    }
+
+    /**
+     * Returns the first column of each section in the view, followed by the number of columns.
+     * @return
+     */
+    public int[] getSectionStarts() {
+        return sectionStarts.clone();
+    }
+
+    /**
+     * Returns a view of the table with its rows and columns reordered. Rows are fetched from
+     * the table as they are asked for, so a LazyTable or a CompressedTableReader may be viewed
+     * as well.
+     * @param table
+     * @return
+     */
+    public RowSource view(final RowSource table) {
+        checkShape(table.getRows(), table.getColumns());
+        return new RowSource() {
+            @Override
+            public int getRows() {
+                return rowOrder.length;
+            }
+
+            @Override
+            public int getColumns() {
+                return columnOrder.length;
+            }
+
+            @Override
+            public long[] getRow(int i) {
+                long[] row = table.getRow(rowOrder[i]);
+                long[] reordered = new long[row.length];
+                for (int j=0; j<row.length; j++) {
+                    reordered[j] = row[columnOrder[j]];
+                }
+                return reordered;
+            }
+        };
+    }
+
+    /**
+     * Returns a copy of the table with its rows and columns reordered.
+     * @param table
+     * @return
+     */
+    public int[][] reorder(int[][] table) {
+        checkShape(table.length, table.length == 0 ? 0 : table[0].length);
+        int[][] reordered = new int[table.length][];
+        for (int i=0; i<table.length; i++) {
+            reordered[i] = new int[columnOrder.length];
+            for (int j=0; j<columnOrder.length; j++) {
+                reordered[i][j] = table[rowOrder[i]][columnOrder[j]];
+            }
+        }
+        return reordered;
+    }
+
+    private void checkShape(int rows, int columns) {
+        if (rows != rowOrder.length || columns != columnOrder.length) {
+            throw new IllegalArgumentException("A " + rows + " by " + columns + " table does not have "
+                    + rowOrder.length + " rows and columns.");
+        }
+    }
+
+    private Object block(AbstractYoungDiagram<?> diagram) {
+        if (diagram instanceof YoungDiagram) {
+            YoungDiagram yd = (YoungDiagram) diagram;
+            return Arrays.<Object>asList(yd.core(p), yd.weight(p));
+        }
+        SignedYoungDiagram syd = (SignedYoungDiagram) diagram;
+        if (p == 2) {
+            return Arrays.<Object>asList(new SignedYoungDiagram(new YoungDiagram(), new YoungDiagram()));
+        }
+        YoungDiagram positive = syd.getPositive();
+        YoungDiagram negative = syd.getNegative();
+        return Arrays.<Object>asList(new SignedYoungDiagram(positive.core(p), negative.core(p)),
+                positive.weight(p), negative.weight(p));
+    }
+
+    private Object section(AbstractPartition c) {
+        if (c instanceof IntegerPartition) {
+            return new IntegerPartition(singular(c.getPartition()));
+        }
+        SignedIntegerPartition sip = (SignedIntegerPartition) c;
+        int[] positive = singular(sip.getPositive().getPartition());
+        int[] negative = singular(sip.getNegative().getPartition());
+        if (p != 2) {
+            positive = join(positive, negative);
+            negative = new int[0];
+        }
+        return new SignedIntegerPartition(positive, negative);
+    }
+
+    /**
+     * Replaces each part p^a m by m parts of p^a.
+     */
+    private int[] singular(int[] parts) {
+        int[] singular = new int[Utils.sum(parts)];
+        int length = 0;
+        for (int part : parts) {
+            int power = 1;
+            while (part % p == 0) {
+                part /= p;
+                power *= p;
+            }
+            Arrays.fill(singular, length, length + part, power);
+            length += part;
+        }
+        return descending(Arrays.copyOf(singular, length));
+    }
+
+    private static int[] join(int[] a, int[] b) {
+        int[] joined = Arrays.copyOf(a, a.length + b.length);
+        System.arraycopy(b, 0, joined, a.length, b.length);
+        return descending(joined);
+    }
+
+    private static int[] descending(int[] parts) {
+        Arrays.sort(parts);
+        for (int i=0, j=parts.length-1; i<j; i++, j--) {
+            int swap = parts[i];
+            parts[i] = parts[j];
+            parts[j] = swap;
+        }
+        return parts;
+    }
+
+    private static void group(Map<Object, List<Integer>> groups, Object label, int index) {
+        List<Integer> members = groups.get(label);
+        if (members == null) {
+            members = new ArrayList<>();
+            groups.put(label, members);
+        }
+        members.add(index);
+    }
+
+    private static int[] flatten(Map<Object, List<Integer>> groups, int size, int[] starts) {
+        int[] order = new int[size];
+        int i = 0;
+        int b = 0;
+        for (List<Integer> members : groups.values()) {
+            starts[b++] = i;
+            for (int member : members) {
+                order[i++] = member;
+            }
+        }
+        starts[b] = i;
+        return order;
+    }
+
+    /**
+     * A p-block, labeled by its core, a YoungDiagram for S_n or a SignedYoungDiagram of the two
+     * cores for H_n, and its p-weights, one for S_n and two for H_n. The single 2-block of H_n is
+     * labeled by the empty diagrams and has no weights.
+     */
+    public static class Block {
+
+        private final AbstractYoungDiagram<?> core;
+        private final int[] weights;
+        private final int start;
+        private final int end;
+
+        private Block(AbstractYoungDiagram<?> core, int[] weights, int start, int end) {
+            this.core = core;
+            this.weights = weights;
+            this.start = start;
+            this.end = end;
+        }
+
+        public AbstractYoungDiagram<?> getCore() {
+            return core;
+        }
+
+        public int[] getWeights() {
+            return weights.clone();
+        }
+
+        /**
+         * Returns the first row of the block in the view.
+         * @return
+         */
+        public int getStart() {
+            return start;
+        }
+
+        /**
+         * Returns the row after the last row of the block in the view.
+         * @return
+         */
+        public int getEnd() {
+            return end;
+        }
+
+        @Override
+        public String toString() {
+            return core + Arrays.toString(weights);
+        }
+    }
+}
@@ -0,0 +1,229 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.CompactTable;
+import com.ariweiland.hyperoctahedral.table.CompressedTableReader;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.StandardOpenOption;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The exact tables of S_n through n = MAX_SN and H_n through n = MAX_HN, shipped as resources in
+ * the compressed table format, one file per table. A table is only loaded the first time it is
+ * asked for: its resource is memory mapped when the classes sit in a directory, or read into a
+ * direct buffer from the jar otherwise, and decoded once into compact storage, which is kept for
+ * the life of the process along with the row and column indices of its diagrams and classes.
+ *
+ * The resources are regenerated with TableArchiver --bundle.
+ * @author Ari Weiland
+ */
+public final class BundledTables {
+
+    public static final int MAX_SN = 20;
+    public static final int MAX_HN = 12;
+    public static final String SUFFIX = ".ctb";
+
+    private static final String PATH = "/com/ariweiland/hyperoctahedral/tables/";
+    private static final Map<String, Bundle> BUNDLES = new HashMap<>();
+    // a build without resources still works, computing everything
+    private static final boolean IS_SHIPPED = BundledTables.class.getResource(PATH + "S0" + SUFFIX) != null;
+
+    private BundledTables() {}
+
+    /**
+     * Returns whether the table of the given type, such as "S10" or "H3", is bundled.
+     * @param type
+     * @return
+     */
+    public static boolean contains(String type) {
+        type = AbstractCharacterTableGenerator.checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        return contains(type.charAt(0), n);
+    }
+
+    static boolean contains(char group, int n) {
+        if (!IS_SHIPPED) {
+            return false;
+        } else if (group == 's') {
+            return n <= MAX_SN;
+        } else if (group == 'h') {
+            return n <= MAX_HN;
+        } else {
+            return false;
+        }
+    }
+
+    /**
+     * Returns a copy of the bundled table of the given type, or null if it is not bundled.
+     * @param type
+     * @return
+     */
+    public static CompactTable get(String type) {
+        type = AbstractCharacterTableGenerator.checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        CompactTable table = table(type.charAt(0), n);
+        if (table == null) {
+            return null;
+        }
+        CompactTable copy = new CompactTable(table.getRows(), table.getColumns());
+        for (int i=0; i<table.getRows(); i++) {
+            copy.setRow(i, table.getRow(i));
+        }
+        return copy;
+    }
+
+    /**
+     * Returns the shared bundled table of S_n or H_n, which must not be modified, or null if it is
+     * not bundled.
+     * @param group 's' or 'h'
+     * @param n
+     * @return
+     */
+    static CompactTable table(char group, int n) {
+        return contains(group, n) ? bundle(group, n).table : null;
+    }
+
+    /**
+     * Returns the character of yd at the class of ip from the bundled table of S_n, which must
+     * be bundled.
+     * @param yd
+     * @param ip
+     * @return
+     */
+    public static long chi(YoungDiagram yd, IntegerPartition ip) {
+        Bundle bundle = bundle('s', ip.getSize());
+        return bundle.table.getLong(bundle.rows.get(yd), bundle.columns.get(ip));
+    }
+
+    /**
+     * Returns the character of syd at the class of sip from the bundled table of H_n, which must
+     * be bundled.
+     * @param syd
+     * @param sip
+     * @return
+     */
+    public static long chi(SignedYoungDiagram syd, SignedIntegerPartition sip) {
+        Bundle bundle = bundle('h', sip.getSize());
+        return bundle.table.getLong(bundle.rows.get(syd), bundle.columns.get(sip));
+    }
+
+    /**
+     * Adds every character of the bundled tables of S_m for m up to maxSn, and of H_m for m up to
+     * maxHn, to the memos of the generator, so that the recursion at larger n bottoms out in them.
+     * Returns the number of characters added.
+     * @param gen
+     * @param maxSn
+     * @param maxHn
+     * @return
+     */
+    public static int seed(CharacterTableGenerator gen, int maxSn, int maxHn) {
+        int before = gen.memoSize();
+        for (int m=0; m<=Math.min(maxSn, MAX_SN); m++) {
+            Bundle bundle = bundle('s', m);
+            List<YoungDiagram> yds = YoungDiagram.all(m);
+            List<IntegerPartition> ips = IntegerPartition.all(m);
+            for (int j=0; j<ips.size(); j++) {
+                Map<YoungDiagram, Long> chis = new HashMap<>();
+                for (int i=0; i<yds.size(); i++) {
+                    chis.put(yds.get(i), bundle.table.getLong(i, j));
+                }
+                gen.getSnEvaluator().putAll(ips.get(j), chis);
+            }
+        }
+        for (int m=0; m<=Math.min(maxHn, MAX_HN); m++) {
+            Bundle bundle = bundle('h', m);
+            List<SignedYoungDiagram> syds = SignedYoungDiagram.all(m);
+            List<SignedIntegerPartition> sips = SignedIntegerPartition.all(m);
+            for (int j=0; j<sips.size(); j++) {
+                Map<SignedYoungDiagram, Long> chis = new HashMap<>();
+                for (int i=0; i<syds.size(); i++) {
+                    chis.put(syds.get(i), bundle.table.getLong(i, j));
+                }
+                gen.getHnEvaluator().putAll(sips.get(j), chis);
+            }
+        }
+        return gen.memoSize() - before;
+    }
+
+    private static synchronized Bundle bundle(char group, int n) {
+        String type = Character.toUpperCase(group) + Integer.toString(n);
+        Bundle bundle = BUNDLES.get(type);
+        if (bundle == null) {
+            bundle = new Bundle(type, group == 's' ? YoungDiagram.all(n) : SignedYoungDiagram.all(n),
+                    group == 's' ? IntegerPartition.all(n) : SignedIntegerPartition.all(n));
+            BUNDLES.put(type, bundle);
+        }
+        return bundle;
+    }
+
+    /**
+     * A decoded table, with the index of each diagram and class.
+     */
+    private static class Bundle {
+        private final CompactTable table;
+        private final Map<Object, Integer> rows;
+        private final Map<Object, Integer> columns;
+
+        private Bundle(String type, List<?> diagrams, List<?> classes) {
+            try (CompressedTableReader reader = new CompressedTableReader(load(type), type)) {
+                if (reader.getRows() != diagrams.size() || reader.getColumns() != classes.size()) {
+                    throw new IOException("The bundled " + type + " has the wrong shape.");
+                }
+                this.table = reader.readTable();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            this.rows = index(diagrams);
+            this.columns = index(classes);
+        }
+
+        private static Map<Object, Integer> index(List<?> list) {
+            Map<Object, Integer> index = new HashMap<>();
+            for (int i=0; i<list.size(); i++) {
+                index.put(list.get(i), i);
+            }
+            return Collections.unmodifiableMap(index);
+        }
+    }
+
+    private static ByteBuffer load(String type) throws IOException {
+        URL url = BundledTables.class.getResource(PATH + type + SUFFIX);
+        if (url == null) {
+            throw new IOException("The bundled " + type + " is missing.");
+        }
+        if (url.getProtocol().equals("file")) {
+            try (FileChannel channel = FileChannel.open(new File(url.toURI()).toPath(), StandardOpenOption.READ)) {
+                return channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+            } catch (URISyntaxException e) {
+                throw new IOException(e);
+            }
+        }
+        try (InputStream in = url.openStream()) {
+            ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+            byte[] buffer = new byte[1 << 16];
+            int read;
+            while ((read = in.read(buffer)) > 0) {
+                bytes.write(buffer, 0, read);
+            }
+            ByteBuffer direct = ByteBuffer.allocateDirect(bytes.size());
+            direct.put(bytes.toByteArray());
+            direct.flip();
+            return direct;
+        }
+    }
+}
@@ -0,0 +1,237 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The character polynomial of a partition lambda of d, which gives the characters of the whole
+ * family lambda[n] = (n - d, lambda) as one polynomial in the cycle counts m_1, m_2, ..., m_d of
+ * the class. It is kept in the binomial basis,
+ *
+ *   chi^{lambda[n]}(mu) = sum over partitions rho with |rho| <= d of a_rho prod_k C(m_k(mu), m_k(rho))
+ *
+ * where C(m, r) counts the ways to pick r of the m k-cycles of mu. Since the product counts the
+ * ways to find the cycles of rho among those of mu, the coefficients follow by Mobius inversion
+ * from the characters at the classes sigma of size at most d, which the engine supplies:
+ *
+ *   a_rho = sum over sigma inside rho of (-1)^{l(rho) - l(sigma)} prod_k C(m_k(rho), m_k(sigma)) chi^{lambda[|sigma|]}(sigma)
+ *
+ * For |sigma| < d + lambda_1, lambda[|sigma|] is not a partition, and its character is that of the
+ * partition it straightens to, up to sign, or 0. The polynomial gives exactly these straightened
+ * characters at every n, and the characters of lambda[n] once n >= d + lambda_1.
+ *
+ * Evaluating takes one binomial per cycle length and one product per term, independent of n, so
+ * it answers for n in the thousands as fast as for n = d. Polynomials are cached by lambda.
+ * @author Ari Weiland
+ */
+public final class CharacterPolynomial {
+
+    private static final Map<YoungDiagram, CharacterPolynomial> CACHE = new HashMap<>();
+
+    private final YoungDiagram lambda;
+    private final int degree;
+    private final int[][] exponents; // the cycle counts of each rho, indexed by k - 1
+    private final BigInteger[] coefficients;
+
+    private CharacterPolynomial(YoungDiagram lambda) {
+        this.lambda = lambda;
+        int[] parts = lambda.getPartition().getPartition();
+        this.degree = Utils.sum(parts);
+        CharacterTableGenerator gen = new CharacterTableGenerator();
+        // the straightened characters at every class of size at most d
+        Map<IntegerPartition, Long> values = new HashMap<>();
+        List<IntegerPartition> classes = new ArrayList<>();
+        for (int m=0; m<=degree; m++) {
+            List<IntegerPartition> ips = IntegerPartition.all(m);
+            classes.addAll(ips);
+            int[] sign = new int[1];
+            int[] nu = straighten(m - degree, parts, sign);
+            long[] row = nu == null ? new long[ips.size()] : gen.generateLongSnRow(new YoungDiagram(nu), ips);
+            for (int j=0; j<ips.size(); j++) {
+                values.put(ips.get(j), sign[0] * row[j]);
+            }
+        }
+        List<int[]> exponents = new ArrayList<>();
+        List<BigInteger> coefficients = new ArrayList<>();
+        for (IntegerPartition rho : classes) {
+            int[] r = counts(rho.getPartition());
+            BigInteger a = invert(r, new int[degree], 0, values);
+            if (a.signum() != 0) {
+                exponents.add(r);
+                coefficients.add(a);
+            }
+        }
+        this.exponents = exponents.toArray(new int[exponents.size()][]);
+        this.coefficients = coefficients.toArray(new BigInteger[coefficients.size()]);
+    }
+
+    /**
+     * Returns the character polynomial of lambda, computing it the first time it is asked for.
+     * @param lambda
+     * @return
+     */
+    public static synchronized CharacterPolynomial of(YoungDiagram lambda) {
+        CharacterPolynomial polynomial = CACHE.get(lambda);
+        if (polynomial == null) {
+            polynomial = new CharacterPolynomial(lambda);
+            CACHE.put(lambda, polynomial);
+        }
+        return polynomial;
+    }
+
+    public YoungDiagram getLambda() {
+        return lambda;
+    }
+
+    /**
+     * Returns the smallest n for which lambda[n] is a partition.
+     * @return
+     */
+    public int getStableSize() {
+        int[] parts = lambda.getPartition().getPartition();
+        return degree + (parts.length == 0 ? 0 : parts[0]);
+    }
+
+    /**
+     * Returns the character of lambda[n] at the class mu, where n is the size of mu.
+     * @param mu
+     * @return
+     */
+    public BigInteger evaluate(IntegerPartition mu) {
+        return evaluate(counts(mu.getPartition()));
+    }
+
+    /**
+     * Returns the value of the polynomial at the given cycle counts, where cycles[k - 1] is the
+     * number of k-cycles. Cycles longer than d do not matter.
+     * @param cycles
+     * @return
+     */
+    public BigInteger evaluate(int[] cycles) {
+        BigInteger[][] binomials = new BigInteger[degree][];
+        for (int k=1; k<=degree; k++) {
+            int m = k <= cycles.length ? cycles[k - 1] : 0;
+            binomials[k - 1] = new BigInteger[degree / k + 1];
+            binomials[k - 1][0] = BigInteger.ONE;
+            for (int r=1; r<binomials[k - 1].length; r++) {
+                binomials[k - 1][r] = binomials[k - 1][r - 1].multiply(BigInteger.valueOf(m - r + 1)).divide(BigInteger.valueOf(r));
+            }
+        }
+        BigInteger sum = BigInteger.ZERO;
+        for (int t=0; t<coefficients.length; t++) {
+            BigInteger term = coefficients[t];
+            for (int k=0; k<degree && term.signum() != 0; k++) {
+                if (exponents[t][k] > 0) {
+                    term = term.multiply(binomials[k][exponents[t][k]]);
+                }
+            }
+            sum = sum.add(term);
+        }
+        return sum;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder();
+        for (int t=0; t<coefficients.length; t++) {
+            sb.append(coefficients[t].signum() < 0 ? (t == 0 ? "-" : " - ") : (t == 0 ? "" : " + "));
+            sb.append(coefficients[t].abs());
+            for (int k=0; k<degree; k++) {
+                if (exponents[t][k] > 0) {
+                    sb.append(" C(m").append(k + 1).append(", ").append(exponents[t][k]).append(")");
+                }
+            }
+        }
+        return sb.length() == 0 ? "0" : sb.toString();
+    }
+
+    /**
+     * Returns the sum over the sub-multisets sigma of rho, whose cycle counts are filled into s
+     * from index k on, of the signed, weighted characters at sigma.
+     */
+    private BigInteger invert(int[] r, int[] s, int k, Map<IntegerPartition, Long> values) {
+        if (k == r.length) {
+            BigInteger term = BigInteger.valueOf(values.get(partition(s)));
+            int sign = 0;
+            for (int i=0; i<r.length; i++) {
+                term = term.multiply(Utils.binomial(r[i], s[i]));
+                sign += r[i] - s[i];
+            }
+            return sign % 2 == 0 ? term : term.negate();
+        }
+        BigInteger sum = BigInteger.ZERO;
+        for (s[k]=0; s[k]<=r[k]; s[k]++) {
+            sum = sum.add(invert(r, s, k + 1, values));
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the cycle counts of a partition, indexed by k - 1, out to k = d.
+     */
+    private int[] counts(int[] parts) {
+        int[] counts = new int[degree];
+        for (int part : parts) {
+            if (part <= degree) {
+                counts[part - 1]++;
+            }
+        }
+        return counts;
+    }
+
+    private static IntegerPartition partition(int[] counts) {
+        int[] parts = new int[0];
+        for (int k=counts.length; k>=1; k--) {
+            int length = parts.length;
+            parts = Arrays.copyOf(parts, length + counts[k - 1]);
+            Arrays.fill(parts, length, parts.length, k);
+        }
+        return new IntegerPartition(parts);
+    }
+
+    /**
+     * Straightens (first, lambda) into a partition, returning it and setting sign[0] to the sign
+     * it picks up, or returning null if its character is 0. Adding the staircase turns the
+     * sequence into distinct numbers to sort, or reveals a repeat or a negative number, which
+     * make the character vanish.
+     */
+    static int[] straighten(int first, int[] lambda, int[] sign) {
+        int length = lambda.length + 1;
+        int[] beta = new int[length];
+        beta[0] = first + length - 1;
+        for (int i=1; i<length; i++) {
+            beta[i] = lambda[i - 1] + length - 1 - i;
+        }
+        sign[0] = 1;
+        // insertion sort into decreasing order, counting swaps
+        for (int i=1; i<length; i++) {
+            for (int j=i; j>0 && beta[j] > beta[j - 1]; j--) {
+                int swap = beta[j];
+                beta[j] = beta[j - 1];
+                beta[j - 1] = swap;
+                sign[0] = -sign[0];
+            }
+        }
+        for (int i=0; i<length; i++) {
+            if (beta[i] < 0 || (i > 0 && beta[i] == beta[i - 1])) {
+                return null;
+            }
+        }
+        int parts = 0;
+        int[] nu = new int[length];
+        for (int i=0; i<length; i++) {
+            nu[i] = beta[i] - (length - 1 - i);
+            if (nu[i] > 0) {
+                parts++;
+            }
+        }
+        return Arrays.copyOf(nu, parts);
+    }
+}
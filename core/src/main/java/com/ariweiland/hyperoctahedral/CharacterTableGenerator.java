@@ -0,0 +1,665 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SplitSignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.CompactTable;
+import com.ariweiland.hyperoctahedral.young.AbstractYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SplitSignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CancellationException;
+
+/**
+ * @author Ari Weiland
+ */
+public class CharacterTableGenerator extends AbstractCharacterTableGenerator {
+
+    private final SnEvaluator snEvaluator;
+    private final HnEvaluator hnEvaluator;
+    private boolean useBundledTables = true;
+
+    /**
+     * Constructs a generator with unbounded memos.
+     */
+    public CharacterTableGenerator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a generator whose S_n and H_n memos each hold at most about maxMemoSize
+     * characters. This is meant for long-running processes.
+     * @param maxMemoSize
+     */
+    public CharacterTableGenerator(int maxMemoSize) {
+        this.snEvaluator = new SnEvaluator(maxMemoSize);
+        this.hnEvaluator = new HnEvaluator(maxMemoSize);
+    }
+
+    /**
+     * Sets whether tables and characters that are in BundledTables are read from there instead
+     * of being computed. This is on by default.
+     * @param useBundledTables
+     */
+    public void setUseBundledTables(boolean useBundledTables) {
+        this.useBundledTables = useBundledTables;
+    }
+
+    /**
+     * Returns the table of the given type, such as "S10", "H3" or "D4", passing each row to the
+     * listener as soon as it is done.
+     * @param type
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateTable(String type, TableListener listener) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return generateSnTable(n, listener);
+        } else if (type.charAt(0) == 'd') {
+            return generateDnTable(n, listener);
+        } else {
+            return generateHnTable(n, listener);
+        }
+    }
+
+    /**
+     * Returns rows from (inclusive) through to (exclusive) of the table of the given type,
+     * passing each row to the listener with its index in the full table.
+     * @param type
+     * @param from
+     * @param to
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateRows(String type, int from, int to, TableListener listener) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return generateSnRows(n, from, to, listener);
+        } else if (type.charAt(0) == 'd') {
+            return generateDnRows(n, from, to, listener);
+        } else {
+            return generateHnRows(n, from, to, listener);
+        }
+    }
+
+    @Override
+    public int[][] generateHnTable(int n) {
+        return generateHnTable(n, null);
+    }
+
+    /**
+     * Returns the character table of H_n, passing each row to the listener as soon as it is done.
+     * Generation checks the thread's interrupt status between cells, and throws a
+     * CancellationException if the thread was interrupted.
+     * @param n
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateHnTable(int n, TableListener listener) {
+        return generateHnRows(n, 0, Integer.MAX_VALUE, listener);
+    }
+
+    /**
+     * Returns rows from (inclusive) through to (exclusive) of the character table of H_n, in the
+     * canonical row order, passing each row to the listener with its index in the full table.
+     * Rows past the end of the table are ignored.
+     * @param n
+     * @param from
+     * @param to
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateHnRows(int n, int from, int to, TableListener listener) {
+        List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+        List<SignedYoungDiagram> syds = SignedYoungDiagram.all(n);
+        int length = sips.size();
+        to = Math.min(to, length);
+        boolean[] closedForm = closedFormColumns(sips);
+        CompactTable bundled = bundled('h', n);
+        int[][] table = new int[Math.max(to - from, 0)][length];
+        for (int i=from; i<to; i++) { // row = syd
+            TableSliceEvent slice = GeneratorStats.ENABLED ? GeneratorStats.get().beginSlice() : null;
+            int[] row = table[i - from];
+            for (int j=0; j<length; j++) { // col = sip
+                checkInterrupted();
+                row[j] = bundled != null ? (int) bundled.getLong(i, j) : freshChi(syds.get(i), sips.get(j), closedForm[j]);
+            }
+            if (listener != null) {
+                listener.rowGenerated(i, row);
+            }
+            if (GeneratorStats.ENABLED) {
+                GeneratorStats.get().endSlice(slice, "H" + n, "row", i);
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public int[][] generateSnTable(int n) {
+        return generateSnTable(n, null);
+    }
+
+    /**
+     * Returns the character table of S_n, passing each row to the listener as soon as it is done.
+     * Generation checks the thread's interrupt status between cells, and throws a
+     * CancellationException if the thread was interrupted.
+     * @param n
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateSnTable(int n, TableListener listener) {
+        return generateSnRows(n, 0, Integer.MAX_VALUE, listener);
+    }
+
+    /**
+     * Returns rows from (inclusive) through to (exclusive) of the character table of S_n, in the
+     * canonical row order, passing each row to the listener with its index in the full table.
+     * Rows past the end of the table are ignored.
+     * @param n
+     * @param from
+     * @param to
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateSnRows(int n, int from, int to, TableListener listener) {
+        List<IntegerPartition> sips = IntegerPartition.all(n);
+        List<YoungDiagram> syds = YoungDiagram.all(n);
+        int length = sips.size();
+        to = Math.min(to, length);
+        boolean[] closedForm = closedFormColumns(sips);
+        CompactTable bundled = bundled('s', n);
+        int[][] table = new int[Math.max(to - from, 0)][length];
+        for (int i=from; i<to; i++) { // row = syd
+            TableSliceEvent slice = GeneratorStats.ENABLED ? GeneratorStats.get().beginSlice() : null;
+            int[] row = table[i - from];
+            for (int j=0; j<length; j++) { // col = sip
+                checkInterrupted();
+                row[j] = bundled != null ? (int) bundled.getLong(i, j) : freshChi(syds.get(i), sips.get(j), closedForm[j]);
+            }
+            if (listener != null) {
+                listener.rowGenerated(i, row);
+            }
+            if (GeneratorStats.ENABLED) {
+                GeneratorStats.get().endSlice(slice, "S" + n, "row", i);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the exact table of the given type, such as "S28", "H12" or "D12", in compact storage.
+     * @param type
+     * @return
+     */
+    public CompactTable generateCompactTable(String type) {
+        type = checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        if (type.charAt(0) == 's') {
+            return generateCompactSnTable(n);
+        } else if (type.charAt(0) == 'd') {
+            return generateCompactDnTable(n);
+        } else {
+            return generateCompactHnTable(n);
+        }
+    }
+
+    /**
+     * Returns the exact character table of S_n in compact storage. Characters are computed in 64
+     * bits, which is exact as long as every degree fits in a long (through n = 35). Throws an
+     * ArithmeticException past that.
+     * @param n
+     * @return
+     */
+    public CompactTable generateCompactSnTable(int n) {
+        if (useBundledTables && BundledTables.contains('s', n)) {
+            return BundledTables.get("S" + n);
+        }
+        List<IntegerPartition> sips = IntegerPartition.all(n);
+        List<YoungDiagram> syds = YoungDiagram.all(n);
+        CompactTable table = new CompactTable(syds.size(), sips.size());
+        for (int i=0; i<syds.size(); i++) { // row = syd
+            table.setRow(i, generateLongSnRow(syds.get(i), sips));
+        }
+        return table;
+    }
+
+    /**
+     * Returns the exact characters of yd at each of the given classes, computed in 64 bits.
+     * Throws an ArithmeticException if the degree of yd does not fit in a long.
+     * @param yd
+     * @param sips
+     * @return
+     */
+    public long[] generateLongSnRow(YoungDiagram yd, List<IntegerPartition> sips) {
+        checkLongDegree(ClosedFormColumns.degree(yd), yd);
+        long[] row = new long[sips.size()];
+        for (int j=0; j<row.length; j++) { // col = sip
+            checkInterrupted();
+            row[j] = calculateLongChi(yd, sips.get(j));
+        }
+        return row;
+    }
+
+    /**
+     * Returns the exact character table of H_n in compact storage. Characters are computed in 64
+     * bits, which is exact as long as every degree fits in a long (through n = 29). Throws an
+     * ArithmeticException past that.
+     * @param n
+     * @return
+     */
+    public CompactTable generateCompactHnTable(int n) {
+        if (useBundledTables && BundledTables.contains('h', n)) {
+            return BundledTables.get("H" + n);
+        }
+        List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+        List<SignedYoungDiagram> syds = SignedYoungDiagram.all(n);
+        CompactTable table = new CompactTable(syds.size(), sips.size());
+        for (int i=0; i<syds.size(); i++) { // row = syd
+            table.setRow(i, generateLongHnRow(syds.get(i), sips));
+        }
+        return table;
+    }
+
+    /**
+     * Returns the exact characters of syd at each of the given classes, computed in 64 bits.
+     * Throws an ArithmeticException if the degree of syd does not fit in a long.
+     * @param syd
+     * @param sips
+     * @return
+     */
+    public long[] generateLongHnRow(SignedYoungDiagram syd, List<SignedIntegerPartition> sips) {
+        checkLongDegree(ClosedFormColumns.degree(syd), syd);
+        long[] row = new long[sips.size()];
+        for (int j=0; j<row.length; j++) { // col = sip
+            checkInterrupted();
+            row[j] = calculateLongChi(syd, sips.get(j));
+        }
+        return row;
+    }
+
+    /**
+     * Returns the character table of D_n. Only the H_n characters it needs are computed, those of
+     * one of each pair {alpha, beta} and {beta, alpha} at the classes of D_n, about a quarter of
+     * the cells of H_n. They go through the same memo as the H_n table, so D_n costs little once
+     * H_n is done.
+     * @param n
+     * @return
+     */
+    @Override
+    public int[][] generateDnTable(int n) {
+        return generateDnTable(n, null);
+    }
+
+    /**
+     * Returns the character table of D_n, passing each row to the listener as soon as it is done.
+     * @param n
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateDnTable(int n, TableListener listener) {
+        return generateDnRows(n, 0, Integer.MAX_VALUE, listener);
+    }
+
+    /**
+     * Returns rows from (inclusive) through to (exclusive) of the character table of D_n, in the
+     * order of SplitSignedYoungDiagram.all(n), passing each row to the listener with its index in
+     * the full table. Rows past the end of the table are ignored.
+     * @param n
+     * @param from
+     * @param to
+     * @param listener may be null
+     * @return
+     */
+    public int[][] generateDnRows(int n, int from, int to, TableListener listener) {
+        List<SplitSignedIntegerPartition> ssips = SplitSignedIntegerPartition.all(n);
+        List<SplitSignedYoungDiagram> ssyds = SplitSignedYoungDiagram.all(n);
+        int length = ssips.size();
+        to = Math.min(to, length);
+        int[][] table = new int[Math.max(to - from, 0)][];
+        for (int i=from; i<to; i++) { // row = ssyd
+            TableSliceEvent slice = GeneratorStats.ENABLED ? GeneratorStats.get().beginSlice() : null;
+            long[] chis = calculateDnRow(ssyds.get(i), ssips);
+            int[] row = new int[length];
+            for (int j=0; j<length; j++) {
+                row[j] = (int) chis[j];
+            }
+            table[i - from] = row;
+            if (listener != null) {
+                listener.rowGenerated(i, row);
+            }
+            if (GeneratorStats.ENABLED) {
+                GeneratorStats.get().endSlice(slice, "D" + n, "row", i);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the exact character table of D_n in compact storage. Throws an ArithmeticException
+     * if a degree of H_n does not fit in a long (past n = 29).
+     * @param n
+     * @return
+     */
+    public CompactTable generateCompactDnTable(int n) {
+        List<SplitSignedIntegerPartition> ssips = SplitSignedIntegerPartition.all(n);
+        List<SplitSignedYoungDiagram> ssyds = SplitSignedYoungDiagram.all(n);
+        CompactTable table = new CompactTable(ssyds.size(), ssips.size());
+        for (int i=0; i<ssyds.size(); i++) { // row = ssyd
+            table.setRow(i, generateLongDnRow(ssyds.get(i), ssips));
+        }
+        return table;
+    }
+
+    /**
+     * Returns the exact characters of ssyd at each of the given classes of D_n, computed in 64
+     * bits. Throws an ArithmeticException if the degree of its H_n character does not fit in a long.
+     * @param ssyd
+     * @param ssips
+     * @return
+     */
+    public long[] generateLongDnRow(SplitSignedYoungDiagram ssyd, List<SplitSignedIntegerPartition> ssips) {
+        checkLongDegree(ClosedFormColumns.degree(ssyd.getDiagram()), ssyd.getDiagram());
+        return calculateDnRow(ssyd, ssips);
+    }
+
+    private long[] calculateDnRow(SplitSignedYoungDiagram ssyd, List<SplitSignedIntegerPartition> ssips) {
+        SignedYoungDiagram syd = ssyd.getDiagram();
+        long[] row = new long[ssips.size()];
+        for (int j=0; j<row.length; j++) { // col = ssip
+            checkInterrupted();
+            SplitSignedIntegerPartition ssip = ssips.get(j);
+            SignedIntegerPartition sip = ssip.getSignedPartition();
+            long chi = calculateLongChi(syd, sip);
+            long halfChi = 0;
+            if (ssyd.isSplit() && ssip.isSplit()) {
+                halfChi = calculateLongChi(syd.getPositive(), half(ssip));
+            }
+            row[j] = splitChi(chi, ssyd.getSign(), ssip.getSign(), sip.getPartition().length, halfChi);
+        }
+        return row;
+    }
+
+    /**
+     * Returns the character tables of S_0 through S_max, extending each table from the last.
+     * @param max
+     * @return
+     */
+    public List<int[][]> generateSnTables(int max) {
+        List<int[][]> tables = new ArrayList<>();
+        tables.add(generateSnTable(0));
+        for (int n=1; n<=max; n++) {
+            tables.add(extendSnTable(tables.get(n - 1), n));
+        }
+        return tables;
+    }
+
+    /**
+     * Returns the character tables of H_0 through H_max, extending each table from the last.
+     * @param max
+     * @return
+     */
+    public List<int[][]> generateHnTables(int max) {
+        List<int[][]> tables = new ArrayList<>();
+        tables.add(generateHnTable(0));
+        for (int n=1; n<=max; n++) {
+            tables.add(extendHnTable(tables.get(n - 1), n));
+        }
+        return tables;
+    }
+
+    /**
+     * Returns the character table of S_n, given the character table of S_{n-1}. Columns whose
+     * class has a fixed point are filled from the previous table with the branching rule, so only
+     * the fixed-point-free columns are computed from scratch.
+     * @param previous the table of S_{n-1}, as returned by generateSnTable(n - 1)
+     * @param n
+     * @return
+     */
+    public int[][] extendSnTable(int[][] previous, int n) {
+        List<IntegerPartition> prevSips = IntegerPartition.all(n - 1);
+        Map<AbstractYoungDiagram<?>, Integer> prevRows = indexRows(YoungDiagram.all(n - 1), previous);
+        Map<AbstractPartition, Integer> prevCols = index(prevSips);
+        List<IntegerPartition> sips = IntegerPartition.all(n);
+        List<YoungDiagram> syds = YoungDiagram.all(n);
+        int length = sips.size();
+        boolean[] closedForm = closedFormColumns(sips);
+        int[][] table = new int[length][length];
+        for (int j=0; j<length; j++) { // col = sip
+            TableSliceEvent slice = GeneratorStats.ENABLED ? GeneratorStats.get().beginSlice() : null;
+            int[] p = sips.get(j).getPartition();
+            if (!closedForm[j] && p[p.length - 1] == 1) {
+                int col = prevCols.get(new IntegerPartition(Utils.cleanArray(p, p.length - 1)));
+                for (int i=0; i<length; i++) { // row = syd
+                    table[i][j] = branch(previous, prevRows, syds.get(i), col, false);
+                }
+            } else {
+                for (int i=0; i<length; i++) { // row = syd
+                    table[i][j] = freshChi(syds.get(i), sips.get(j), closedForm[j]);
+                }
+            }
+            if (GeneratorStats.ENABLED) {
+                GeneratorStats.get().endSlice(slice, "S" + n, "column", j);
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the character table of H_n, given the character table of H_{n-1}. Columns whose
+     * class has a positive or negative 1-cycle are filled from the previous table with the
+     * branching rule, so only the columns without 1-cycles are computed from scratch.
+     * @param previous the table of H_{n-1}, as returned by generateHnTable(n - 1)
+     * @param n
+     * @return
+     */
+    public int[][] extendHnTable(int[][] previous, int n) {
+        List<SignedIntegerPartition> prevSips = SignedIntegerPartition.all(n - 1);
+        Map<AbstractYoungDiagram<?>, Integer> prevRows = indexRows(SignedYoungDiagram.all(n - 1), previous);
+        Map<AbstractPartition, Integer> prevCols = index(prevSips);
+        List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+        List<SignedYoungDiagram> syds = SignedYoungDiagram.all(n);
+        int length = sips.size();
+        boolean[] closedForm = closedFormColumns(sips);
+        int[][] table = new int[length][length];
+        for (int j=0; j<length; j++) { // col = sip
+            TableSliceEvent slice = GeneratorStats.ENABLED ? GeneratorStats.get().beginSlice() : null;
+            int[] pos = sips.get(j).getPositive().getPartition();
+            int[] neg = sips.get(j).getNegative().getPartition();
+            boolean hasPositive = pos.length > 0 && pos[pos.length - 1] == 1;
+            boolean hasNegative = neg.length > 0 && neg[neg.length - 1] == 1;
+            if (!closedForm[j] && (hasPositive || hasNegative)) {
+                SignedIntegerPartition reduced;
+                if (hasPositive) {
+                    reduced = new SignedIntegerPartition(Utils.cleanArray(pos, pos.length - 1), neg);
+                } else {
+                    reduced = new SignedIntegerPartition(pos, Utils.cleanArray(neg, neg.length - 1));
+                }
+                int col = prevCols.get(reduced);
+                for (int i=0; i<length; i++) { // row = syd
+                    table[i][j] = branch(previous, prevRows, syds.get(i), col, !hasPositive);
+                }
+            } else {
+                for (int i=0; i<length; i++) { // row = syd
+                    table[i][j] = freshChi(syds.get(i), sips.get(j), closedForm[j]);
+                }
+            }
+            if (GeneratorStats.ENABLED) {
+                GeneratorStats.get().endSlice(slice, "H" + n, "column", j);
+            }
+        }
+        return table;
+    }
+
+    public SnEvaluator getSnEvaluator() {
+        return snEvaluator;
+    }
+
+    public HnEvaluator getHnEvaluator() {
+        return hnEvaluator;
+    }
+
+    /**
+     * Returns the number of characters held in the memos.
+     * @return
+     */
+    public int memoSize() {
+        return snEvaluator.size() + hnEvaluator.size();
+    }
+
+    /**
+     * No character exceeds its degree, so a degree that fits in a long guarantees the whole row does.
+     * @param degree
+     * @param yd
+     */
+    private void checkLongDegree(BigInteger degree, AbstractYoungDiagram<?> yd) {
+        if (degree.bitLength() >= 64) {
+            throw new ArithmeticException("The degree of " + yd + " does not fit in a long.");
+        }
+    }
+
+    /**
+     * Returns the bundled table of S_n or H_n, or null if it is not bundled or not in use.
+     * @param group
+     * @param n
+     * @return
+     */
+    private CompactTable bundled(char group, int n) {
+        return useBundledTables ? BundledTables.table(group, n) : null;
+    }
+
+    /**
+     * Returns the exact character of yd at ip in 64 bits, from the bundled table, a closed form
+     * or the recursion.
+     * @param yd
+     * @param ip
+     * @return
+     */
+    private long calculateLongChi(YoungDiagram yd, IntegerPartition ip) {
+        if (useBundledTables && BundledTables.contains('s', ip.getSize())) {
+            return BundledTables.chi(yd, ip);
+        } else if (ClosedFormColumns.isClosedForm(ip)) {
+            return ClosedFormColumns.calculateChi(yd, ip).longValue();
+        } else {
+            return snEvaluator.calculateLongChi(yd, ip, 0);
+        }
+    }
+
+    private long calculateLongChi(SignedYoungDiagram syd, SignedIntegerPartition sip) {
+        if (useBundledTables && BundledTables.contains('h', sip.getSize())) {
+            return BundledTables.chi(syd, sip);
+        } else if (ClosedFormColumns.isClosedForm(sip)) {
+            return ClosedFormColumns.calculateChi(syd, sip).longValue();
+        } else {
+            return hnEvaluator.calculateLongChi(syd, sip, 0);
+        }
+    }
+
+    private void checkInterrupted() {
+        if (Thread.currentThread().isInterrupted()) {
+            throw new CancellationException("Table generation was interrupted.");
+        }
+    }
+
+    /**
+     * Applies the branching rule: the character of yd at a class with a 1-cycle is the sum over
+     * removable boxes of the previous characters at the class without that 1-cycle.
+     * @param previous
+     * @param prevRows
+     * @param yd
+     * @param col
+     * @param isNegative
+     * @return
+     */
+    private int branch(int[][] previous, Map<AbstractYoungDiagram<?>, Integer> prevRows,
+                       AbstractYoungDiagram<?> yd, int col, boolean isNegative) {
+        Map<? extends AbstractYoungDiagram<?>, Integer> map = yd.reduce(1);
+        int sum = 0;
+        for (AbstractYoungDiagram<?> next : map.keySet()) {
+            sum += signFactor(map.get(next), isNegative) * previous[prevRows.get(next)][col];
+        }
+        return sum;
+    }
+
+    private int freshChi(AbstractYoungDiagram<?> yd, AbstractPartition partition, boolean closedForm) {
+        if (closedForm) {
+            if (yd instanceof YoungDiagram) {
+                return ClosedFormColumns.calculateChi((YoungDiagram) yd, (IntegerPartition) partition).intValue();
+            } else {
+                return ClosedFormColumns.calculateChi((SignedYoungDiagram) yd, (SignedIntegerPartition) partition).intValue();
+            }
+        } else {
+            return calculateChi(yd, partition, 0);
+        }
+    }
+
+    private Map<AbstractYoungDiagram<?>, Integer> indexRows(List<? extends AbstractYoungDiagram<?>> rows, int[][] table) {
+        if (rows.size() != table.length) {
+            throw new IllegalArgumentException("The previous table has " + table.length + " rows, but "
+                    + rows.size() + " were expected.");
+        }
+        Map<AbstractYoungDiagram<?>, Integer> index = new HashMap<>();
+        for (int i=0; i<rows.size(); i++) {
+            index.put(rows.get(i), i);
+        }
+        return index;
+    }
+
+    private Map<AbstractPartition, Integer> index(List<? extends AbstractPartition> cols) {
+        Map<AbstractPartition, Integer> index = new HashMap<>();
+        for (int j=0; j<cols.size(); j++) {
+            index.put(cols.get(j), j);
+        }
+        return index;
+    }
+
+    /**
+     * Flags the columns that can be filled by ClosedFormColumns instead of the recursion.
+     * Note that intValue() wraps exactly the way the int recursion would on overflow.
+     * @param partitions
+     * @return
+     */
+    private boolean[] closedFormColumns(List<? extends AbstractPartition> partitions) {
+        boolean[] closedForm = new boolean[partitions.size()];
+        for (int j=0; j<closedForm.length; j++) {
+            closedForm[j] = ClosedFormColumns.isClosedForm(partitions.get(j));
+        }
+        return closedForm;
+    }
+
+    /**
+     * Returns the character of yd at the class given by the parts of partition from index on,
+     * dispatching to the evaluator for the kind of diagram.
+     * @param yd
+     * @param partition
+     * @param index
+     * @return
+     */
+    public int calculateChi(AbstractYoungDiagram<?> yd, AbstractPartition partition, int index) {
+        if (index == 0 && useBundledTables && BundledTables.contains(yd instanceof YoungDiagram ? 's' : 'h', partition.getSize())) {
+            if (yd instanceof YoungDiagram) {
+                return (int) BundledTables.chi((YoungDiagram) yd, (IntegerPartition) partition);
+            } else {
+                return (int) BundledTables.chi((SignedYoungDiagram) yd, (SignedIntegerPartition) partition);
+            }
+        }
+        if (yd instanceof YoungDiagram) {
+            return snEvaluator.calculateChi((YoungDiagram) yd, (IntegerPartition) partition, index);
+        } else {
+            return hnEvaluator.calculateChi((SignedYoungDiagram) yd, (SignedIntegerPartition) partition, index);
+        }
+    }
+
+    public int signFactor(int height, boolean isNegative) {
+        return (isNegative && height < 0) == (Math.abs(height) % 2 == 0) ? 1 : -1;
+    }
+}
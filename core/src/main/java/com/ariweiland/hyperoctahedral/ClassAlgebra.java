@@ -0,0 +1,232 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Computes the structure constants of the class algebra of S_n or H_n from its character table.
+ * The constant a_{ijk} counts the ways to write a fixed element of class k as a product xy with x
+ * in class i and y in class j, and is given by
+ *
+ *   a_{ijk} = |C_i||C_j|/|G| sum over rows l of chi_l(i) chi_l(j) chi_l(k) / chi_l(1)
+ *
+ * (the characters of these groups are all real, so no conjugation is needed).
+ *
+ * Since 0 <= a_{ijk} <= |G|, the constants are computed exactly modulo enough primes below 2^28
+ * that their product exceeds |G|, and then recovered by the Chinese remainder theorem. No prime
+ * that large divides a degree or |G|, so every division is a modular inverse.
+ *
+ * Requests are answered BAND (i, j) pairs at a time. For each batch the rows of the table are
+ * split among the threads, each thread streams its rows once and accumulates a partial sum for
+ * every pair in the batch against every class k, and the partial sums are added at the end.
+ * @author Ari Weiland
+ */
+public class ClassAlgebra {
+
+    public static final int BAND = 64;
+
+    private final RowSource table;
+    private final int threads;
+    private final MultiModular modular;
+    private final long[] primes;
+    private final long[][] sizes;
+    private final long[] orderInverses;
+    private final long[][] degreeInverses;
+
+    /**
+     * Builds the class algebra of the group of the given type, such as "S20" or "H12", from its
+     * exact table.
+     * @param type
+     */
+    public ClassAlgebra(String type) {
+        this(new CharacterTableGenerator().generateCompactTable(type), AbstractCharacterTableGenerator.classes(type));
+    }
+
+    public ClassAlgebra(RowSource table, List<? extends AbstractPartition> classes) {
+        this(table, classes, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds the class algebra from a table whose columns are indexed by the given classes, the
+     * first of which must be the identity.
+     * @param table
+     * @param classes
+     * @param threads
+     */
+    public ClassAlgebra(RowSource table, List<? extends AbstractPartition> classes, int threads) {
+        int rows = table.getRows();
+        if (table.getColumns() != classes.size() || rows != classes.size() || rows == 0) {
+            throw new IllegalArgumentException("A " + rows + " by " + table.getColumns() + " table cannot have "
+                    + classes.size() + " classes.");
+        }
+        BigInteger order = classes.get(0).groupOrder();
+        if (!classes.get(0).centralizerOrder().equals(order)) {
+            throw new IllegalArgumentException("The first class must be the identity.");
+        }
+        this.table = table;
+        this.threads = threads;
+        this.modular = new MultiModular(order.bitLength());
+        this.primes = modular.primes;
+        this.sizes = new long[primes.length][rows];
+        this.orderInverses = new long[primes.length];
+        this.degreeInverses = new long[primes.length][rows];
+        BigInteger[] degrees = new BigInteger[rows];
+        for (int l=0; l<rows; l++) {
+            degrees[l] = BigInteger.valueOf(table.getRow(l)[0]);
+        }
+        for (int k=0; k<primes.length; k++) {
+            orderInverses[k] = modular.inverse(order, k);
+            for (int c=0; c<rows; c++) {
+                sizes[k][c] = modular.residue(classes.get(c).classSize(), k);
+                degreeInverses[k][c] = modular.inverse(degrees[c], k);
+            }
+        }
+    }
+
+    /**
+     * Returns a_{ijk}.
+     * @param i
+     * @param j
+     * @param k
+     * @return
+     */
+    public BigInteger constant(int i, int j, int k) {
+        return constants(i, j)[k];
+    }
+
+    /**
+     * Returns a_{ijk} for every class k.
+     * @param i
+     * @param j
+     * @return
+     */
+    public BigInteger[] constants(int i, int j) {
+        return constants(new int[][] {{i, j}})[0];
+    }
+
+    /**
+     * Returns the matrix of multiplication by the class sum of class i, that is, a_{ijk}
+     * indexed by j and then k.
+     * @param i
+     * @return
+     */
+    public BigInteger[][] multiplicationTable(int i) {
+        int[][] pairs = new int[table.getRows()][];
+        for (int j=0; j<pairs.length; j++) {
+            pairs[j] = new int[] {i, j};
+        }
+        return constants(pairs);
+    }
+
+    /**
+     * Returns a_{ijk} for every class k, for each of the given (i, j) pairs.
+     * @param pairs
+     * @return
+     */
+    public BigInteger[][] constants(int[][] pairs) {
+        BigInteger[][] constants = new BigInteger[pairs.length][];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int start=0; start<pairs.length; start+=BAND) {
+                int[][] batch = new int[Math.min(BAND, pairs.length - start)][];
+                System.arraycopy(pairs, start, batch, 0, batch.length);
+                long[][][] sums = sum(pool, batch);
+                for (int b=0; b<batch.length; b++) {
+                    constants[start + b] = reconstruct(sums, b, batch[b][0], batch[b][1]);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The computation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The computation failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return constants;
+    }
+
+    /**
+     * Returns, for each prime, pair of the batch and class k, the sum over rows l of
+     * chi_l(i) chi_l(j) chi_l(k) / chi_l(1), reduced modulo the prime.
+     */
+    private long[][][] sum(ExecutorService pool, final int[][] batch) throws InterruptedException, ExecutionException {
+        int rows = table.getRows();
+        int step = (rows + threads - 1) / threads;
+        List<Future<long[][][]>> futures = new ArrayList<>();
+        for (int start=0; start<rows; start+=step) {
+            final int from = start;
+            final int to = Math.min(rows, start + step);
+            futures.add(pool.submit(new Callable<long[][][]>() {
+                @Override
+                public long[][][] call() {
+                    return sum(batch, from, to);
+                }
+            }));
+        }
+        long[][][] total = null;
+        for (Future<long[][][]> future : futures) {
+            long[][][] partial = future.get();
+            if (total == null) {
+                total = partial;
+            } else {
+                for (int k=0; k<primes.length; k++) {
+                    for (int b=0; b<batch.length; b++) {
+                        for (int c=0; c<rows; c++) {
+                            total[k][b][c] = (total[k][b][c] + partial[k][b][c]) % primes[k];
+                        }
+                    }
+                }
+            }
+        }
+        return total;
+    }
+
+    private long[][][] sum(int[][] batch, int from, int to) {
+        int columns = table.getColumns();
+        long[][][] sums = new long[primes.length][batch.length][columns];
+        for (int l=from; l<to; l++) {
+            long[][] residues = modular.residues(table.getRow(l));
+            for (int k=0; k<primes.length; k++) {
+                long p = primes[k];
+                long[] r = residues[k];
+                for (int b=0; b<batch.length; b++) {
+                    long w = r[batch[b][0]] * r[batch[b][1]] % p * degreeInverses[k][l] % p;
+                    if (w != 0) {
+                        long[] sum = sums[k][b];
+                        for (int c=0; c<columns; c++) {
+                            sum[c] += w * r[c];
+                        }
+                    }
+                }
+            }
+            if ((l - from + 1) % MultiModular.CHUNK == 0) {
+                modular.reduce(sums);
+            }
+        }
+        modular.reduce(sums);
+        return sums;
+    }
+
+    private BigInteger[] reconstruct(long[][][] sums, int b, int i, int j) {
+        BigInteger[] constants = new BigInteger[table.getColumns()];
+        long[] residues = new long[primes.length];
+        for (int c=0; c<constants.length; c++) {
+            for (int k=0; k<primes.length; k++) {
+                long p = primes[k];
+                residues[k] = sums[k][b][c] * sizes[k][i] % p * sizes[k][j] % p * orderInverses[k] % p;
+            }
+            constants[c] = modular.reconstruct(residues);
+        }
+        return constants;
+    }
+}
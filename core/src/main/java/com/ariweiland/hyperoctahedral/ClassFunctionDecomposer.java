@@ -0,0 +1,237 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decomposes class functions of S_n or H_n into irreducible characters. A class function is a
+ * vector of values over the classes, in column order, and its multiplicity in row lambda is
+ *
+ *   <f, chi_lambda> = 1/|G| sum over classes c of |c| f(c) chi_lambda(c)
+ *
+ * Many functions are decomposed at once, as one matrix product of the weighted functions with
+ * the transposed table. The rows of the table are split among the threads, and each thread
+ * fetches its rows once, TILE at a time, multiplying each tile against the functions TILE at a
+ * time. The table is only ever streamed, so a LazyTable or a CompressedTableReader works as well
+ * as a table in memory.
+ *
+ * Integer valued functions are decomposed exactly, modulo enough primes below 2^28 to bound the
+ * sums (using that no character exceeds the square root of |G|), and a function whose
+ * multiplicities are not all integers is rejected. Real valued functions, such as traces
+ * measured in simulations, are decomposed in floating point.
+ * @author Ari Weiland
+ */
+public class ClassFunctionDecomposer {
+
+    public static final int TILE = 32;
+
+    private final RowSource table;
+    private final List<? extends AbstractPartition> classes;
+    private final int threads;
+
+    /**
+     * Builds a decomposer over the exact table of the given type, such as "S20" or "H12", held
+     * in compact storage. For tables too large to hold, pass a LazyTable instead.
+     * @param type
+     */
+    public ClassFunctionDecomposer(String type) {
+        this(new CharacterTableGenerator().generateCompactTable(type), AbstractCharacterTableGenerator.classes(type));
+    }
+
+    public ClassFunctionDecomposer(RowSource table, List<? extends AbstractPartition> classes) {
+        this(table, classes, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds a decomposer over a table whose columns are indexed by the given classes.
+     * @param table
+     * @param classes
+     * @param threads
+     */
+    public ClassFunctionDecomposer(RowSource table, List<? extends AbstractPartition> classes, int threads) {
+        if (table.getColumns() != classes.size() || table.getRows() != classes.size() || classes.isEmpty()) {
+            throw new IllegalArgumentException("A " + table.getRows() + " by " + table.getColumns()
+                    + " table cannot have " + classes.size() + " classes.");
+        }
+        this.table = table;
+        this.classes = classes;
+        this.threads = threads;
+    }
+
+    /**
+     * Returns the multiplicity of every irreducible, in row order, in each integer valued class
+     * function. Throws an ArithmeticException if some multiplicity is not an integer, that is, if
+     * a function is not a virtual character.
+     * @param functions
+     * @return
+     */
+    public BigInteger[][] decompose(long[][] functions) {
+        BigInteger order = classes.get(0).groupOrder();
+        int maxBits = 0;
+        for (long[] function : functions) {
+            checkLengths(function.length);
+            for (long value : function) {
+                maxBits = Math.max(maxBits, 64 - Long.numberOfLeadingZeros(value < 0 ? ~value : value) + 1);
+            }
+        }
+        // |sum of |c| f(c) chi(c)| <= |G| max|f| max|chi|, and max|chi| <= sqrt(|G|)
+        final MultiModular modular = new MultiModular(order.bitLength() + maxBits + (order.bitLength() + 1) / 2 + 1);
+        final long[] primes = modular.primes;
+        long[][] sizes = new long[primes.length][classes.size()];
+        for (int c=0; c<classes.size(); c++) {
+            BigInteger size = classes.get(c).classSize();
+            for (int k=0; k<primes.length; k++) {
+                sizes[k][c] = modular.residue(size, k);
+            }
+        }
+        final long[][][] weighted = new long[primes.length][functions.length][];
+        for (int m=0; m<functions.length; m++) {
+            long[][] residues = modular.residues(functions[m]);
+            for (int k=0; k<primes.length; k++) {
+                for (int c=0; c<classes.size(); c++) {
+                    residues[k][c] = residues[k][c] * sizes[k][c] % primes[k];
+                }
+                weighted[k][m] = residues[k];
+            }
+        }
+        final long[][][] sums = new long[primes.length][functions.length][table.getRows()];
+        run(new Slice() {
+            @Override
+            public void multiply(int from, int to, long[][] rows) {
+                long[][][] residues = new long[rows.length][][];
+                for (int l=0; l<rows.length; l++) {
+                    residues[l] = modular.residues(rows[l]);
+                }
+                for (int m0=0; m0<weighted[0].length; m0+=TILE) {
+                    for (int l=from; l<to; l++) {
+                        for (int m=m0; m<Math.min(m0 + TILE, weighted[0].length); m++) {
+                            for (int k=0; k<primes.length; k++) {
+                                sums[k][m][l] = MultiModular.dot(weighted[k][m], residues[l - from][k], primes[k]);
+                            }
+                        }
+                    }
+                }
+            }
+        });
+        BigInteger[][] multiplicities = new BigInteger[functions.length][table.getRows()];
+        long[] residues = new long[primes.length];
+        for (int m=0; m<functions.length; m++) {
+            for (int l=0; l<table.getRows(); l++) {
+                for (int k=0; k<primes.length; k++) {
+                    residues[k] = sums[k][m][l];
+                }
+                BigInteger[] quotient = modular.reconstruct(residues).divideAndRemainder(order);
+                if (quotient[1].signum() != 0) {
+                    throw new ArithmeticException("Function " + m + " is not a virtual character: its multiplicity in row "
+                            + l + " is " + quotient[0] + " and " + quotient[1] + "/" + order + ".");
+                }
+                multiplicities[m][l] = quotient[0];
+            }
+        }
+        return multiplicities;
+    }
+
+    /**
+     * Returns the multiplicity of every irreducible, in row order, in each real valued class
+     * function.
+     * @param functions
+     * @return
+     */
+    public double[][] decompose(double[][] functions) {
+        double[] centralizers = new double[classes.size()];
+        for (int c=0; c<classes.size(); c++) {
+            centralizers[c] = classes.get(c).centralizerOrder().doubleValue();
+        }
+        final double[][] weighted = new double[functions.length][];
+        for (int m=0; m<functions.length; m++) {
+            checkLengths(functions[m].length);
+            weighted[m] = new double[classes.size()];
+            for (int c=0; c<classes.size(); c++) {
+                weighted[m][c] = functions[m][c] / centralizers[c];
+            }
+        }
+        final double[][] multiplicities = new double[functions.length][table.getRows()];
+        run(new Slice() {
+            @Override
+            public void multiply(int from, int to, long[][] rows) {
+                for (int m0=0; m0<weighted.length; m0+=TILE) {
+                    for (int l=from; l<to; l++) {
+                        long[] row = rows[l - from];
+                        for (int m=m0; m<Math.min(m0 + TILE, weighted.length); m++) {
+                            double sum = 0;
+                            for (int c=0; c<row.length; c++) {
+                                sum += weighted[m][c] * row[c];
+                            }
+                            multiplicities[m][l] = sum;
+                        }
+                    }
+                }
+            }
+        });
+        return multiplicities;
+    }
+
+    private void checkLengths(int length) {
+        if (length != classes.size()) {
+            throw new IllegalArgumentException("Class functions need " + classes.size() + " values, not " + length + ".");
+        }
+    }
+
+    /**
+     * Multiplies one tile of rows, [from, to), against every function.
+     */
+    private interface Slice {
+        void multiply(int from, int to, long[][] rows);
+    }
+
+    /**
+     * Splits the rows among the threads, each of which fetches its rows a tile at a time and
+     * hands the tile to the slice.
+     */
+    private void run(final Slice slice) {
+        final int rows = table.getRows();
+        int step = (rows + threads - 1) / threads;
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start=0; start<rows; start+=step) {
+                final int first = start;
+                final int last = Math.min(rows, start + step);
+                futures.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        for (int from=first; from<last; from+=TILE) {
+                            int to = Math.min(last, from + TILE);
+                            long[][] tile = new long[to - from][];
+                            for (int l=from; l<to; l++) {
+                                tile[l - from] = table.getRow(l);
+                            }
+                            slice.multiply(from, to, tile);
+                        }
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The decomposition was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("The decomposition failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,152 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * The fusion of the classes of a subgroup into the classes of a group, for S_n inside H_n (the
+ * signed permutations with every sign positive) and H_n inside S_2n (the permutations of the
+ * points +1, -1, ..., +n, -n that commute with negation). The map sends the index of each column
+ * of the subgroup's table to the index of the column of the group's table it fuses into.
+ *
+ * Characters are restricted by reading them off at the fused columns and induced by Frobenius'
+ * formula, so both work directly on rows of tables that are already computed, and the branching
+ * rules of every irreducible are found by decomposing the restrictions of a whole table at once.
+ * By Frobenius reciprocity the same matrix, transposed, gives the induction of every irreducible
+ * of the subgroup.
+ * @author Ari Weiland
+ */
+public class ClassFusion {
+
+    public static final int BAND = 256;
+
+    private final List<? extends AbstractPartition> subgroupClasses;
+    private final List<? extends AbstractPartition> groupClasses;
+    private final int[] map;
+
+    /**
+     * Constructs the fusion from the subgroup of the given type into the group of the given type,
+     * which must be S_n into H_n, or H_n into S_2n.
+     * @param subgroupType
+     * @param groupType
+     */
+    public ClassFusion(String subgroupType, String groupType) {
+        subgroupType = AbstractCharacterTableGenerator.checkType(subgroupType);
+        groupType = AbstractCharacterTableGenerator.checkType(groupType);
+        int n = Integer.parseInt(subgroupType.substring(1, subgroupType.length()));
+        int m = Integer.parseInt(groupType.substring(1, groupType.length()));
+        boolean isSnInHn = subgroupType.charAt(0) == 's' && groupType.charAt(0) == 'h' && m == n;
+        boolean isHnInS2n = subgroupType.charAt(0) == 'h' && groupType.charAt(0) == 's' && m == 2 * n;
+        if (!isSnInHn && !isHnInS2n) {
+            throw new IllegalArgumentException("Only S_n in H_n and H_n in S_2n are supported, not "
+                    + subgroupType.toUpperCase() + " in " + groupType.toUpperCase() + ".");
+        }
+        this.subgroupClasses = AbstractCharacterTableGenerator.classes(subgroupType);
+        this.groupClasses = AbstractCharacterTableGenerator.classes(groupType);
+        Map<AbstractPartition, Integer> indices = new HashMap<>();
+        for (int c=0; c<groupClasses.size(); c++) {
+            indices.put(groupClasses.get(c), c);
+        }
+        this.map = new int[subgroupClasses.size()];
+        for (int c=0; c<map.length; c++) {
+            AbstractPartition subgroupClass = subgroupClasses.get(c);
+            if (isSnInHn) {
+                map[c] = indices.get(((IntegerPartition) subgroupClass).fuse());
+            } else {
+                map[c] = indices.get(((SignedIntegerPartition) subgroupClass).fuse());
+            }
+        }
+    }
+
+    public List<? extends AbstractPartition> getSubgroupClasses() {
+        return subgroupClasses;
+    }
+
+    public List<? extends AbstractPartition> getGroupClasses() {
+        return groupClasses;
+    }
+
+    /**
+     * Returns, for each class of the subgroup, the index of the class of the group it fuses into.
+     * @return
+     */
+    public int[] getMap() {
+        return map.clone();
+    }
+
+    /**
+     * Restricts a class function of the group to the subgroup.
+     * @param function
+     * @return
+     */
+    public long[] restrict(long[] function) {
+        checkLength(function.length, groupClasses);
+        long[] restriction = new long[map.length];
+        for (int c=0; c<map.length; c++) {
+            restriction[c] = function[map[c]];
+        }
+        return restriction;
+    }
+
+    /**
+     * Induces a class function of the subgroup up to the group. The value on a class C of the
+     * group is the sum over the subgroup classes c fusing into C of |C_G(C)|/|C_H(c)| f(c).
+     * @param function
+     * @return
+     */
+    public BigInteger[] induce(long[] function) {
+        checkLength(function.length, subgroupClasses);
+        BigInteger[] sums = new BigInteger[groupClasses.size()];
+        for (int c=0; c<sums.length; c++) {
+            sums[c] = BigInteger.ZERO;
+        }
+        // sum |c| f(c) over the subgroup, then scale by |C_G(C)|/|H|
+        for (int c=0; c<map.length; c++) {
+            if (function[c] != 0) {
+                BigInteger term = subgroupClasses.get(c).classSize().multiply(BigInteger.valueOf(function[c]));
+                sums[map[c]] = sums[map[c]].add(term);
+            }
+        }
+        BigInteger order = subgroupClasses.get(0).groupOrder();
+        for (int c=0; c<sums.length; c++) {
+            sums[c] = sums[c].multiply(groupClasses.get(c).centralizerOrder()).divide(order);
+        }
+        return sums;
+    }
+
+    /**
+     * Returns the branching matrix, whose entry [i][j] is the multiplicity of irreducible j of the
+     * subgroup in the restriction of irreducible i of the group, which by Frobenius reciprocity is
+     * also the multiplicity of irreducible i of the group in the induction of irreducible j.
+     * @param groupTable the table of the group
+     * @param subgroupTable the table of the subgroup
+     * @return
+     */
+    public BigInteger[][] branching(RowSource groupTable, RowSource subgroupTable) {
+        checkLength(groupTable.getColumns(), groupClasses);
+        ClassFunctionDecomposer decomposer = new ClassFunctionDecomposer(subgroupTable, subgroupClasses);
+        BigInteger[][] branching = new BigInteger[groupTable.getRows()][];
+        for (int start=0; start<branching.length; start+=BAND) {
+            long[][] restrictions = new long[Math.min(BAND, branching.length - start)][];
+            for (int i=0; i<restrictions.length; i++) {
+                restrictions[i] = restrict(groupTable.getRow(start + i));
+            }
+            BigInteger[][] multiplicities = decomposer.decompose(restrictions);
+            System.arraycopy(multiplicities, 0, branching, start, multiplicities.length);
+        }
+        return branching;
+    }
+
+    private static void checkLength(int length, List<? extends AbstractPartition> classes) {
+        if (length != classes.size()) {
+            throw new IllegalArgumentException("Expected " + classes.size() + " values, not " + length + ".");
+        }
+    }
+}
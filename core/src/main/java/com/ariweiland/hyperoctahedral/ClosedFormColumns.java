@@ -0,0 +1,221 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.math.BigInteger;
+
+/**
+ * Some columns of the character tables are known in closed form, so there is no need to run the
+ * full rim hook recursion for them. For S_n these are the identity (hook length formula), the
+ * n-cycle and the transposition class (2,1^{n-2}). For H_n these are the identity, the central
+ * element (all negative 1-cycles), a single negative 1-cycle, a positive transposition and the
+ * positive and negative n-cycles. Each value takes O(n) work per row.
+ * @author Ari Weiland
+ */
+public class ClosedFormColumns {
+
+    /**
+     * Returns true if the column for this partition has a closed form.
+     * @param partition
+     * @return
+     */
+    public static boolean isClosedForm(AbstractPartition partition) {
+        if (partition instanceof IntegerPartition) {
+            return isClosedForm((IntegerPartition) partition);
+        } else {
+            return isClosedForm((SignedIntegerPartition) partition);
+        }
+    }
+
+    public static boolean isClosedForm(IntegerPartition partition) {
+        return isIdentity(partition) || isCycle(partition) || isTransposition(partition);
+    }
+
+    public static boolean isClosedForm(SignedIntegerPartition partition) {
+        IntegerPartition pos = partition.getPositive();
+        IntegerPartition neg = partition.getNegative();
+        if (neg.getSize() == 0) {
+            return isIdentity(pos) || isCycle(pos) || isTransposition(pos);
+        } else if (pos.getSize() == 0) {
+            return isIdentity(neg) || isCycle(neg);
+        } else {
+            return neg.getSize() == 1 && isIdentity(pos);
+        }
+    }
+
+    /**
+     * Returns the character of the irreducible representation yd at the class partition.
+     * Throws an IllegalArgumentException if the column has no closed form.
+     * @param yd
+     * @param partition
+     * @return
+     */
+    public static BigInteger calculateChi(YoungDiagram yd, IntegerPartition partition) {
+        if (isIdentity(partition)) {
+            return degree(yd);
+        } else if (isCycle(partition)) {
+            return BigInteger.valueOf(cycleChi(yd));
+        } else if (isTransposition(partition)) {
+            return transpositionChi(yd);
+        }
+        throw new IllegalArgumentException("No closed form for the class " + partition);
+    }
+
+    /**
+     * Returns the character of the irreducible representation syd at the class partition.
+     * Throws an IllegalArgumentException if the column has no closed form.
+     * @param syd
+     * @param partition
+     * @return
+     */
+    public static BigInteger calculateChi(SignedYoungDiagram syd, SignedIntegerPartition partition) {
+        IntegerPartition pos = partition.getPositive();
+        IntegerPartition neg = partition.getNegative();
+        YoungDiagram alpha = syd.getPositive();
+        YoungDiagram beta = syd.getNegative();
+        int n = partition.getSize();
+        int a = alpha.getPartition().getSize();
+        int b = beta.getPartition().getSize();
+        if (neg.getSize() == 0) {
+            if (isIdentity(pos)) {
+                return degree(syd);
+            } else if (isCycle(pos)) {
+                return BigInteger.valueOf(signedCycleChi(alpha, beta, false));
+            } else if (isTransposition(pos)) {
+                // remove the 2-cycle from either component, then count the remaining degrees
+                BigInteger sum = BigInteger.ZERO;
+                if (a >= 2) {
+                    sum = sum.add(Utils.binomial(n - 2, a - 2).multiply(transpositionChi(alpha)).multiply(degree(beta)));
+                }
+                if (b >= 2) {
+                    sum = sum.add(Utils.binomial(n - 2, a).multiply(degree(alpha)).multiply(transpositionChi(beta)));
+                }
+                return sum;
+            }
+        } else if (pos.getSize() == 0) {
+            if (isIdentity(neg)) {
+                BigInteger degree = degree(syd);
+                return b % 2 == 0 ? degree : degree.negate();
+            } else if (isCycle(neg)) {
+                return BigInteger.valueOf(signedCycleChi(alpha, beta, true));
+            }
+        } else if (neg.getSize() == 1 && isIdentity(pos)) {
+            // the negative 1-cycle is +1 on boxes of alpha and -1 on boxes of beta
+            BigInteger coefficient = Utils.binomial(n - 1, a - 1).subtract(Utils.binomial(n - 1, a));
+            return coefficient.multiply(degree(alpha)).multiply(degree(beta));
+        }
+        throw new IllegalArgumentException("No closed form for the class " + partition);
+    }
+
+    /**
+     * Returns the degree of the irreducible representation yd, using the hook length formula.
+     * @param yd
+     * @return
+     */
+    public static BigInteger degree(YoungDiagram yd) {
+        int[] p = yd.getPartition().getPartition();
+        int[] conjugate = conjugate(p);
+        BigInteger hooks = BigInteger.ONE;
+        for (int i=0; i<p.length; i++) {
+            for (int j=0; j<p[i]; j++) {
+                hooks = hooks.multiply(BigInteger.valueOf(p[i] - j + conjugate[j] - i - 1));
+            }
+        }
+        return Utils.factorial(yd.getPartition().getSize()).divide(hooks);
+    }
+
+    /**
+     * Returns the degree of the irreducible representation syd, which is the number of ways to
+     * choose the boxes of the positive diagram times the degrees of both diagrams.
+     * @param syd
+     * @return
+     */
+    public static BigInteger degree(SignedYoungDiagram syd) {
+        int a = syd.getPositive().getPartition().getSize();
+        int b = syd.getNegative().getPartition().getSize();
+        return Utils.binomial(a + b, a).multiply(degree(syd.getPositive())).multiply(degree(syd.getNegative()));
+    }
+
+    /**
+     * Returns the sum of the contents (column index minus row index) over all boxes of yd.
+     * @param yd
+     * @return
+     */
+    public static long contentSum(YoungDiagram yd) {
+        int[] p = yd.getPartition().getPartition();
+        long sum = 0;
+        for (int i=0; i<p.length; i++) {
+            sum += (long) p[i] * (p[i] - 1) / 2 - (long) i * p[i];
+        }
+        return sum;
+    }
+
+    private static int cycleChi(YoungDiagram yd) {
+        int[] p = yd.getPartition().getPartition();
+        if (p.length == 0) {
+            return 1;
+        }
+        if (p.length > 1 && p[1] > 1) {
+            return 0;
+        }
+        return (p.length - 1) % 2 == 0 ? 1 : -1;
+    }
+
+    private static int signedCycleChi(YoungDiagram alpha, YoungDiagram beta, boolean isNegative) {
+        if (beta.isEmpty()) {
+            return cycleChi(alpha);
+        } else if (alpha.isEmpty()) {
+            return isNegative ? -cycleChi(beta) : cycleChi(beta);
+        } else {
+            return 0;
+        }
+    }
+
+    private static BigInteger transpositionChi(YoungDiagram yd) {
+        long n = yd.getPartition().getSize();
+        if (n < 2) {
+            return BigInteger.ZERO;
+        }
+        return degree(yd).multiply(BigInteger.valueOf(2 * contentSum(yd))).divide(BigInteger.valueOf(n * (n - 1)));
+    }
+
+    private static int[] conjugate(int[] p) {
+        int[] conjugate = new int[p.length == 0 ? 0 : p[0]];
+        for (int part : p) {
+            for (int j=0; j<part; j++) {
+                conjugate[j]++;
+            }
+        }
+        return conjugate;
+    }
+
+    private static boolean isIdentity(IntegerPartition partition) {
+        for (int part : partition.getPartition()) {
+            if (part != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isCycle(IntegerPartition partition) {
+        return partition.getPartition().length == 1;
+    }
+
+    private static boolean isTransposition(IntegerPartition partition) {
+        int[] p = partition.getPartition();
+        if (p.length == 0 || p[0] != 2) {
+            return false;
+        }
+        for (int i=1; i<p.length; i++) {
+            if (p[i] != 1) {
+                return false;
+            }
+        }
+        return true;
+    }
+}
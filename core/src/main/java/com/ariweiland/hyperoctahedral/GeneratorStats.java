@@ -0,0 +1,172 @@
+package com.ariweiland.hyperoctahedral;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Counters for table generation: calculateChi invocations, memo hits and misses, reduce calls
+ * per hook length and the latency of every row. The counters are striped, so threads do not
+ * contend on them.
+ *
+ * Instrumentation is switched on with -Dhyperoctahedral.stats=true. ENABLED is a static final
+ * constant, so when it is off the JIT folds away every guarded call site and nothing is counted.
+ * When it is on, the counters are registered with the platform MBean server and every row also
+ * emits a TableSliceEvent for JDK Flight Recorder.
+ * @author Ari Weiland
+ */
+public final class GeneratorStats implements GeneratorStatsMXBean {
+
+    public static final boolean ENABLED = Boolean.getBoolean("hyperoctahedral.stats");
+
+    public static final String OBJECT_NAME = "com.ariweiland.hyperoctahedral:type=GeneratorStats";
+
+    private static final int HOOK_LENGTHS = 64;
+
+    private static final GeneratorStats INSTANCE = new GeneratorStats();
+
+    static {
+        if (ENABLED) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(INSTANCE, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                throw new IllegalStateException("Could not register " + OBJECT_NAME, e);
+            }
+        }
+    }
+
+    private final LongAdder chiCalls = new LongAdder();
+    private final LongAdder memoHits = new LongAdder();
+    private final LongAdder memoMisses = new LongAdder();
+    private final LongAdder[] reduceCalls = new LongAdder[HOOK_LENGTHS];
+    private final LongAdder slices = new LongAdder();
+    private final LongAdder sliceNanos = new LongAdder();
+    private final LongAccumulator maxSliceNanos = new LongAccumulator(Math::max, 0);
+
+    private GeneratorStats() {
+        for (int i=0; i<HOOK_LENGTHS; i++) {
+            reduceCalls[i] = new LongAdder();
+        }
+    }
+
+    public static GeneratorStats get() {
+        return INSTANCE;
+    }
+
+    /**
+     * Records a calculateChi call that looked up the memo.
+     * @param hit
+     */
+    void chiCall(boolean hit) {
+        chiCalls.increment();
+        if (hit) {
+            memoHits.increment();
+        } else {
+            memoMisses.increment();
+        }
+    }
+
+    void reduceCall(int hookLength) {
+        reduceCalls[Math.min(hookLength, HOOK_LENGTHS - 1)].increment();
+    }
+
+    /**
+     * Starts timing a row or column of a table.
+     * @return
+     */
+    TableSliceEvent beginSlice() {
+        TableSliceEvent event = new TableSliceEvent();
+        event.start = System.nanoTime();
+        event.begin();
+        return event;
+    }
+
+    /**
+     * Records a completed row or column of a table, and emits it to Flight Recorder.
+     * @param event the event returned by beginSlice()
+     * @param table
+     * @param axis "row" or "column"
+     * @param index
+     */
+    void endSlice(TableSliceEvent event, String table, String axis, int index) {
+        long nanos = System.nanoTime() - event.start;
+        slices.increment();
+        sliceNanos.add(nanos);
+        maxSliceNanos.accumulate(nanos);
+        event.end();
+        if (event.shouldCommit()) {
+            event.table = table;
+            event.axis = axis;
+            event.index = index;
+            event.commit();
+        }
+    }
+
+    @Override
+    public long getChiCalls() {
+        return chiCalls.sum();
+    }
+
+    @Override
+    public long getMemoHits() {
+        return memoHits.sum();
+    }
+
+    @Override
+    public long getMemoMisses() {
+        return memoMisses.sum();
+    }
+
+    @Override
+    public double getMemoHitRate() {
+        long hits = getMemoHits();
+        long total = hits + getMemoMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+
+    @Override
+    public long[] getReduceCalls() {
+        long[] calls = new long[HOOK_LENGTHS];
+        for (int i=0; i<HOOK_LENGTHS; i++) {
+            calls[i] = reduceCalls[i].sum();
+        }
+        return calls;
+    }
+
+    @Override
+    public long getSlices() {
+        return slices.sum();
+    }
+
+    @Override
+    public double getMeanSliceMillis() {
+        long count = getSlices();
+        return count == 0 ? 0 : sliceNanos.sum() / 1e6 / count;
+    }
+
+    @Override
+    public double getMaxSliceMillis() {
+        return maxSliceNanos.get() / 1e6;
+    }
+
+    @Override
+    public void reset() {
+        chiCalls.reset();
+        memoHits.reset();
+        memoMisses.reset();
+        for (LongAdder calls : reduceCalls) {
+            calls.reset();
+        }
+        slices.reset();
+        sliceNanos.reset();
+        maxSliceNanos.reset();
+    }
+
+    @Override
+    public String toString() {
+        return String.format("chi calls %d, memo hit rate %.3f, rows %d, mean row %.3f ms, max row %.3f ms",
+                getChiCalls(), getMemoHitRate(), getSlices(), getMeanSliceMillis(), getMaxSliceMillis());
+    }
+}
@@ -0,0 +1,39 @@
+package com.ariweiland.hyperoctahedral;
+
+/**
+ * The JMX view of GeneratorStats.
+ * @author Ari Weiland
+ */
+public interface GeneratorStatsMXBean {
+
+    long getChiCalls();
+
+    long getMemoHits();
+
+    long getMemoMisses();
+
+    /**
+     * Returns the fraction of memo lookups that were hits, or 0 if there were none.
+     * @return
+     */
+    double getMemoHitRate();
+
+    /**
+     * Returns the number of reduce calls made for each hook length. The last entry counts
+     * every hook length at or beyond it.
+     * @return
+     */
+    long[] getReduceCalls();
+
+    /**
+     * Returns the number of rows (or columns, for extended tables) completed.
+     * @return
+     */
+    long getSlices();
+
+    double getMeanSliceMillis();
+
+    double getMaxSliceMillis();
+
+    void reset();
+}
@@ -0,0 +1,172 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates characters of H_n with the signed Murnaghan-Nakayama rule. Everything here is
+ * statically typed to SignedYoungDiagram and SignedIntegerPartition, so the hot loop only ever
+ * sees one implementation of reduce, equals and hashCode.
+ *
+ * The memo maps each suffix of a class to the characters already computed at that suffix, so
+ * columns that end the same way share their work. The memo may be bounded, in which case the
+ * least recently used suffixes are evicted, whole, before each evaluation until it fits.
+ * @author Ari Weiland
+ */
+public final class HnEvaluator {
+
+    private final Map<SignedIntegerPartition, Map<SignedYoungDiagram, Long>> memo = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxSize;
+    private int size = 0;
+
+    /**
+     * Constructs an evaluator with an unbounded memo.
+     */
+    public HnEvaluator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an evaluator whose memo holds at most about maxSize characters.
+     * @param maxSize
+     */
+    public HnEvaluator(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the character of syd at the class given by the parts of partition.getPartition()
+     * from index on.
+     * @param syd
+     * @param partition
+     * @param index
+     * @return
+     */
+    public int calculateChi(SignedYoungDiagram syd, SignedIntegerPartition partition, int index) {
+        return (int) calculateLongChi(syd, partition, index);
+    }
+
+    /**
+     * Returns the same character as calculateChi, computed in 64 bits. The result is exact
+     * whenever the degree of syd fits in a long, since no character exceeds the degree.
+     * @param syd
+     * @param partition
+     * @param index
+     * @return
+     */
+    public long calculateLongChi(SignedYoungDiagram syd, SignedIntegerPartition partition, int index) {
+        evict();
+        int[] p = partition.getPartition();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<SignedYoungDiagram, Long>[] records = new Map[p.length];
+        for (int i=index; i<p.length; i++) {
+            SignedIntegerPartition suffix = suffix(p, i);
+            records[i] = memo.get(suffix);
+            if (records[i] == null) {
+                records[i] = new HashMap<>();
+                memo.put(suffix, records[i]);
+            }
+        }
+        return calculateChi(syd, p, records, index);
+    }
+
+    private long calculateChi(SignedYoungDiagram syd, int[] p, Map<SignedYoungDiagram, Long>[] records, int index) {
+        if (syd.isEmpty()) {
+            return 1L;
+        }
+        Map<SignedYoungDiagram, Long> record = records[index];
+        Long chi = record.get(syd);
+        if (GeneratorStats.ENABLED) {
+            GeneratorStats.get().chiCall(chi != null);
+        }
+        if (chi != null) {
+            return chi;
+        }
+        boolean isNegative = p[index] < 0;
+        if (GeneratorStats.ENABLED) {
+            GeneratorStats.get().reduceCall(Math.abs(p[index]));
+        }
+        Map<SignedYoungDiagram, Integer> map = syd.reduce(Math.abs(p[index]));
+        long sum = 0;
+        for (Map.Entry<SignedYoungDiagram, Integer> e : map.entrySet()) {
+            int height = e.getValue();
+            long next = calculateChi(e.getKey(), p, records, index + 1);
+            sum += (isNegative && height < 0) == (Math.abs(height) % 2 == 0) ? next : -next;
+        }
+        record.put(syd, sum);
+        size++;
+        return sum;
+    }
+
+    /**
+     * Returns the number of memoized characters.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only view of the memo, mapping each class suffix to the characters known at it.
+     * @return
+     */
+    public Map<SignedIntegerPartition, Map<SignedYoungDiagram, Long>> getMemo() {
+        return Collections.unmodifiableMap(memo);
+    }
+
+    /**
+     * Adds known characters at a class suffix to the memo, such as ones restored from a snapshot.
+     * @param suffix
+     * @param chis
+     */
+    public void putAll(SignedIntegerPartition suffix, Map<SignedYoungDiagram, Long> chis) {
+        Map<SignedYoungDiagram, Long> record = memo.get(suffix);
+        if (record == null) {
+            record = new HashMap<>();
+            memo.put(suffix, record);
+        }
+        size -= record.size();
+        record.putAll(chis);
+        size += record.size();
+    }
+
+    public void clear() {
+        memo.clear();
+        size = 0;
+    }
+
+    private void evict() {
+        Iterator<Map<SignedYoungDiagram, Long>> iterator = memo.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    /**
+     * Returns the SignedIntegerPartition made of the parts of p from index on. Negative parts
+     * sit at the end of p in increasing order of size, so they are reversed into canonical order.
+     * @param p
+     * @param index
+     * @return
+     */
+    static SignedIntegerPartition suffix(int[] p, int index) {
+        int split = index;
+        while (split < p.length && p[split] > 0) {
+            split++;
+        }
+        int[] pos = new int[split - index];
+        System.arraycopy(p, index, pos, 0, pos.length);
+        int[] neg = new int[p.length - split];
+        for (int i=0; i<neg.length; i++) {
+            neg[i] = -p[p.length - 1 - i];
+        }
+        return new SignedIntegerPartition(pos, neg);
+    }
+}
@@ -0,0 +1,207 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Decomposes tensor products of irreducible characters of S_n or H_n into irreducibles. The
+ * multiplicity of chi_nu in chi_lambda chi_mu is the Kronecker coefficient
+ *
+ *   g(lambda, mu, nu) = 1/|G| sum over classes c of |c| chi_lambda(c) chi_mu(c) chi_nu(c)
+ *
+ * Rows are referred to by their index in the table, which is their index in YoungDiagram.all(n)
+ * or SignedYoungDiagram.all(n).
+ *
+ * Since 0 <= g <= |G|, the coefficients are computed exactly modulo enough primes below 2^28 that
+ * their product exceeds |G|, and then recovered by the Chinese remainder theorem. Requests are
+ * answered BAND (lambda, mu) pairs at a time. Within a batch each weighted row |c|/|G| chi_lambda(c)
+ * is computed once and shared by every pair it appears in, and the target rows nu are split among
+ * the threads, each of which streams its rows once against every pair in the batch.
+ * @author Ari Weiland
+ */
+public class KroneckerCoefficients {
+
+    public static final int BAND = 64;
+
+    private final RowSource table;
+    private final int threads;
+    private final MultiModular modular;
+    private final long[] primes;
+    private final long[][] weights;
+
+    /**
+     * Builds the decomposer for the group of the given type, such as "S20" or "H12", from its
+     * exact table.
+     * @param type
+     */
+    public KroneckerCoefficients(String type) {
+        this(new CharacterTableGenerator().generateCompactTable(type), AbstractCharacterTableGenerator.classes(type));
+    }
+
+    public KroneckerCoefficients(RowSource table, List<? extends AbstractPartition> classes) {
+        this(table, classes, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds the decomposer from a table whose columns are indexed by the given classes.
+     * @param table
+     * @param classes
+     * @param threads
+     */
+    public KroneckerCoefficients(RowSource table, List<? extends AbstractPartition> classes, int threads) {
+        int rows = table.getRows();
+        if (table.getColumns() != classes.size() || rows != classes.size() || rows == 0) {
+            throw new IllegalArgumentException("A " + rows + " by " + table.getColumns() + " table cannot have "
+                    + classes.size() + " classes.");
+        }
+        BigInteger order = classes.get(0).groupOrder();
+        this.table = table;
+        this.threads = threads;
+        this.modular = new MultiModular(order.bitLength());
+        this.primes = modular.primes;
+        this.weights = new long[primes.length][rows];
+        for (int k=0; k<primes.length; k++) {
+            long inverse = modular.inverse(order, k);
+            for (int c=0; c<rows; c++) {
+                weights[k][c] = modular.residue(classes.get(c).classSize(), k) * inverse % primes[k];
+            }
+        }
+    }
+
+    /**
+     * Returns the multiplicity of chi_nu in chi_lambda chi_mu.
+     * @param lambda
+     * @param mu
+     * @param nu
+     * @return
+     */
+    public BigInteger coefficient(int lambda, int mu, int nu) {
+        return decompose(lambda, mu)[nu];
+    }
+
+    /**
+     * Returns the multiplicity of every irreducible in chi_lambda chi_mu, in row order.
+     * @param lambda
+     * @param mu
+     * @return
+     */
+    public BigInteger[] decompose(int lambda, int mu) {
+        return decompose(new int[][] {{lambda, mu}})[0];
+    }
+
+    /**
+     * Returns the multiplicity of every irreducible in chi_lambda chi_mu, in row order, for each
+     * of the given (lambda, mu) pairs.
+     * @param pairs
+     * @return
+     */
+    public BigInteger[][] decompose(int[][] pairs) {
+        BigInteger[][] coefficients = new BigInteger[pairs.length][];
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            for (int start=0; start<pairs.length; start+=BAND) {
+                int[][] batch = new int[Math.min(BAND, pairs.length - start)][];
+                System.arraycopy(pairs, start, batch, 0, batch.length);
+                long[][][] products = products(batch);
+                long[][][] sums = sum(pool, products);
+                long[] residues = new long[primes.length];
+                for (int b=0; b<batch.length; b++) {
+                    coefficients[start + b] = new BigInteger[table.getRows()];
+                    for (int nu=0; nu<table.getRows(); nu++) {
+                        for (int k=0; k<primes.length; k++) {
+                            residues[k] = sums[k][b][nu];
+                        }
+                        coefficients[start + b][nu] = modular.reconstruct(residues);
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("The computation was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("The computation failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return coefficients;
+    }
+
+    /**
+     * Returns, for each prime and pair of the batch, the weighted column product
+     * |c|/|G| chi_lambda(c) chi_mu(c), reusing the weighted row of each lambda.
+     */
+    private long[][][] products(int[][] batch) {
+        Map<Integer, long[][]> residues = new HashMap<>();
+        Map<Integer, long[][]> weighted = new HashMap<>();
+        for (int[] pair : batch) {
+            for (int row : pair) {
+                if (!residues.containsKey(row)) {
+                    residues.put(row, modular.residues(table.getRow(row)));
+                }
+            }
+            if (!weighted.containsKey(pair[0])) {
+                long[][] r = residues.get(pair[0]);
+                long[][] w = new long[primes.length][r[0].length];
+                for (int k=0; k<primes.length; k++) {
+                    for (int c=0; c<w[k].length; c++) {
+                        w[k][c] = r[k][c] * weights[k][c] % primes[k];
+                    }
+                }
+                weighted.put(pair[0], w);
+            }
+        }
+        long[][][] products = new long[primes.length][batch.length][table.getColumns()];
+        for (int b=0; b<batch.length; b++) {
+            long[][] w = weighted.get(batch[b][0]);
+            long[][] r = residues.get(batch[b][1]);
+            for (int k=0; k<primes.length; k++) {
+                for (int c=0; c<w[k].length; c++) {
+                    products[k][b][c] = w[k][c] * r[k][c] % primes[k];
+                }
+            }
+        }
+        return products;
+    }
+
+    /**
+     * Returns, for each prime, pair of the batch and row nu, the inner product of the pair's
+     * weighted column product with chi_nu, splitting the rows nu among the threads.
+     */
+    private long[][][] sum(ExecutorService pool, final long[][][] products) throws InterruptedException, ExecutionException {
+        int rows = table.getRows();
+        final long[][][] sums = new long[primes.length][products[0].length][rows];
+        int step = (rows + threads - 1) / threads;
+        List<Future<?>> futures = new ArrayList<>();
+        for (int start=0; start<rows; start+=step) {
+            final int from = start;
+            final int to = Math.min(rows, start + step);
+            futures.add(pool.submit(new Runnable() {
+                @Override
+                public void run() {
+                    for (int nu=from; nu<to; nu++) {
+                        long[][] r = modular.residues(table.getRow(nu));
+                        for (int k=0; k<primes.length; k++) {
+                            for (int b=0; b<products[k].length; b++) {
+                                sums[k][b][nu] = MultiModular.dot(products[k][b], r[k], primes[k]);
+                            }
+                        }
+                    }
+                }
+            }));
+        }
+        for (Future<?> future : futures) {
+            future.get();
+        }
+        return sums;
+    }
+}
@@ -0,0 +1,79 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SplitSignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.SplitSignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.util.List;
+
+/**
+ * A table whose rows are computed exactly whenever they are asked for, and never stored, for
+ * streaming over tables that do not fit in memory. Each thread gets its own generator, with a
+ * memo bounded to maxMemoSize characters, so rows can be computed in parallel.
+ * @author Ari Weiland
+ */
+public class LazyTable implements RowSource {
+
+    private final char group;
+    private final List<YoungDiagram> yds;
+    private final List<IntegerPartition> ips;
+    private final List<SignedYoungDiagram> syds;
+    private final List<SignedIntegerPartition> sips;
+    private final List<SplitSignedYoungDiagram> ssyds;
+    private final List<SplitSignedIntegerPartition> ssips;
+    private final int size;
+    private final ThreadLocal<CharacterTableGenerator> generators;
+
+    public LazyTable(String type) {
+        this(type, Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs a lazy table of the given type, such as "S30", "H15" or "D15".
+     * @param type
+     * @param maxMemoSize the memo bound of each thread's generator
+     */
+    public LazyTable(String type, final int maxMemoSize) {
+        type = AbstractCharacterTableGenerator.checkType(type);
+        int n = Integer.parseInt(type.substring(1, type.length()));
+        this.group = type.charAt(0);
+        this.yds = group == 's' ? YoungDiagram.all(n) : null;
+        this.ips = group == 's' ? IntegerPartition.all(n) : null;
+        this.syds = group == 'h' ? SignedYoungDiagram.all(n) : null;
+        this.sips = group == 'h' ? SignedIntegerPartition.all(n) : null;
+        this.ssyds = group == 'd' ? SplitSignedYoungDiagram.all(n) : null;
+        this.ssips = group == 'd' ? SplitSignedIntegerPartition.all(n) : null;
+        this.size = AbstractCharacterTableGenerator.size(type);
+        this.generators = new ThreadLocal<CharacterTableGenerator>() {
+            @Override
+            protected CharacterTableGenerator initialValue() {
+                return new CharacterTableGenerator(maxMemoSize);
+            }
+        };
+    }
+
+    @Override
+    public int getRows() {
+        return size;
+    }
+
+    @Override
+    public int getColumns() {
+        return size;
+    }
+
+    @Override
+    public long[] getRow(int i) {
+        if (group == 's') {
+            return generators.get().generateLongSnRow(yds.get(i), ips);
+        } else if (group == 'd') {
+            return generators.get().generateLongDnRow(ssyds.get(i), ssips);
+        } else {
+            return generators.get().generateLongHnRow(syds.get(i), sips);
+        }
+    }
+}
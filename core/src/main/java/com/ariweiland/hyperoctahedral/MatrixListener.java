@@ -0,0 +1,18 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.table.SparseMatrix;
+
+/**
+ * Receives the matrices of the generators of a representation as they are built, so callers can
+ * write them out or use them without holding them all at once.
+ * @author Ari Weiland
+ */
+public interface MatrixListener {
+
+    /**
+     * Called once for every generator, in order.
+     * @param generator
+     * @param matrix
+     */
+    void matrixGenerated(int generator, SparseMatrix matrix);
+}
@@ -0,0 +1,108 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.math.BigInteger;
+
+/**
+ * A set of primes just below 2^PRIME_BITS whose product exceeds 2^bits, for computing sums of
+ * products of table values exactly by their residues. Residues are below 2^28, so a product of
+ * two fits in 56 bits and CHUNK of them can be added in a long before reducing.
+ * @author Ari Weiland
+ */
+final class MultiModular {
+
+    static final int PRIME_BITS = 28;
+    static final int CHUNK = 64;
+
+    final long[] primes;
+    private final BigInteger modulus;
+    private final BigInteger[] basis;
+
+    /**
+     * Chooses enough primes that any integer of absolute value below 2^bits is determined by its
+     * residues.
+     * @param bits
+     */
+    MultiModular(int bits) {
+        // each prime exceeds 2^(PRIME_BITS - 1), and one more bit tells the sign
+        this.primes = Utils.primesBelow(PRIME_BITS, (bits + PRIME_BITS - 1) / (PRIME_BITS - 1));
+        BigInteger product = BigInteger.ONE;
+        for (long p : primes) {
+            product = product.multiply(BigInteger.valueOf(p));
+        }
+        this.modulus = product;
+        this.basis = new BigInteger[primes.length];
+        for (int k=0; k<primes.length; k++) {
+            BigInteger p = BigInteger.valueOf(primes[k]);
+            BigInteger rest = modulus.divide(p);
+            basis[k] = rest.multiply(rest.modInverse(p));
+        }
+    }
+
+    int size() {
+        return primes.length;
+    }
+
+    long residue(BigInteger value, int k) {
+        return value.mod(BigInteger.valueOf(primes[k])).longValue();
+    }
+
+    long inverse(BigInteger value, int k) {
+        return value.modInverse(BigInteger.valueOf(primes[k])).longValue();
+    }
+
+    /**
+     * Returns the residues of each value of the row modulo each prime, indexed by prime first.
+     * @param row
+     * @return
+     */
+    long[][] residues(long[] row) {
+        long[][] residues = new long[primes.length][row.length];
+        for (int k=0; k<primes.length; k++) {
+            for (int c=0; c<row.length; c++) {
+                residues[k][c] = Math.floorMod(row[c], primes[k]);
+            }
+        }
+        return residues;
+    }
+
+    /**
+     * Returns the integer of absolute value below 2^bits with the given residues.
+     * @param residues one per prime
+     * @return
+     */
+    BigInteger reconstruct(long[] residues) {
+        BigInteger value = BigInteger.ZERO;
+        for (int k=0; k<primes.length; k++) {
+            value = value.add(basis[k].multiply(BigInteger.valueOf(residues[k])));
+        }
+        value = value.mod(modulus);
+        return value.shiftLeft(1).compareTo(modulus) > 0 ? value.subtract(modulus) : value;
+    }
+
+    /**
+     * Returns the dot product of two vectors of residues modulo p.
+     */
+    static long dot(long[] a, long[] b, long p) {
+        long sum = 0;
+        for (int c=0; c<a.length; c++) {
+            sum += a[c] * b[c];
+            if ((c + 1) % CHUNK == 0) {
+                sum %= p;
+            }
+        }
+        return sum % p;
+    }
+
+    /**
+     * Reduces every partial sum modulo its prime, where sums is indexed by prime first.
+     */
+    void reduce(long[][][] sums) {
+        for (int k=0; k<primes.length; k++) {
+            for (long[] sum : sums[k]) {
+                for (int c=0; c<sum.length; c++) {
+                    sum[c] %= primes[k];
+                }
+            }
+        }
+    }
+}
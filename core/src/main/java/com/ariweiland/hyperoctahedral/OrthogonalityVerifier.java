@@ -0,0 +1,202 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.AbstractPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * Certifies a character table by checking the column orthogonality relation exactly:
+ *
+ *   sum over rows i of chi_i(c) chi_i(d) = |C_G(c)| if c = d, and 0 otherwise
+ *
+ * For a square table X this says X^T X = D, where D is the diagonal of centralizer orders, so
+ * X is invertible and X D^-1 X^T = I, which is the row relation
+ *
+ *   sum over classes c of |c| chi_i(c) chi_j(c) = |G| if i = j, and 0 otherwise
+ *
+ * Checking the columns exactly therefore certifies both relations.
+ *
+ * The table is streamed, never held whole. Column pairs are checked one band of BAND columns
+ * at a time, by streaming every row once and accumulating the band against all later columns.
+ * Bands run in parallel, so the table source must allow concurrent reads.
+ *
+ * The sums are computed modulo enough primes below 2^28 that their product exceeds any possible
+ * difference between a sum and its target, given the largest value in the table. A sum that
+ * matches its target modulo every prime therefore matches it exactly, while each product still
+ * fits in a long.
+ * @author Ari Weiland
+ */
+public class OrthogonalityVerifier {
+
+    public static final int BAND = 32;
+
+    private static final int MAX_EXAMPLES = 10;
+
+    private final int threads;
+
+    public OrthogonalityVerifier() {
+        this(Runtime.getRuntime().availableProcessors());
+    }
+
+    public OrthogonalityVerifier(int threads) {
+        this.threads = threads;
+    }
+
+    /**
+     * Verifies the table of the given type, whose columns must be in the order of
+     * AbstractCharacterTableGenerator.classes(type).
+     * @param table
+     * @param type
+     * @return
+     */
+    public Result verify(RowSource table, String type) {
+        return verify(table, AbstractCharacterTableGenerator.classes(type));
+    }
+
+    /**
+     * Verifies the table, whose columns are indexed by the given classes.
+     * @param table
+     * @param classes
+     * @return
+     */
+    public Result verify(final RowSource table, List<? extends AbstractPartition> classes) {
+        final int rows = table.getRows();
+        final int columns = table.getColumns();
+        if (columns != classes.size() || rows != columns) {
+            throw new IllegalArgumentException("A " + rows + " by " + columns + " table cannot have "
+                    + classes.size() + " classes.");
+        }
+        final Result result = new Result();
+        if (rows == 0) {
+            return result;
+        }
+        BigInteger order = classes.get(0).groupOrder();
+        int maxBits = 0;
+        for (int i=0; i<rows; i++) {
+            for (long value : table.getRow(i)) {
+                maxBits = Math.max(maxBits, 64 - Long.numberOfLeadingZeros(value < 0 ? ~value : value) + 1);
+            }
+        }
+        final MultiModular modular = new MultiModular(order.bitLength() + 2 * maxBits + BigInteger.valueOf(rows).bitLength() + 1);
+        final long[] primes = modular.primes;
+
+        final long[][] centralizers = new long[primes.length][columns];
+        for (int c=0; c<columns; c++) {
+            BigInteger centralizer = classes.get(c).centralizerOrder();
+            for (int k=0; k<primes.length; k++) {
+                centralizers[k][c] = modular.residue(centralizer, k);
+            }
+        }
+
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int start=0; start<rows; start+=BAND) {
+                final int from = start;
+                final int to = Math.min(rows, start + BAND);
+                futures.add(pool.submit(new Runnable() {
+                    @Override
+                    public void run() {
+                        verifyColumns(table, from, to, modular, centralizers, result);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Verification was interrupted.", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Verification failed to run.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+        return result;
+    }
+
+    /**
+     * Checks every pair of columns c <= d with c in [from, to), streaming every row once.
+     */
+    private static void verifyColumns(RowSource table, int from, int to, MultiModular modular,
+                                      long[][] centralizers, Result result) {
+        int columns = table.getColumns();
+        long[] primes = modular.primes;
+        long[][][] sums = new long[primes.length][to - from][columns];
+        for (int i=0; i<table.getRows(); i++) {
+            long[][] residues = modular.residues(table.getRow(i));
+            for (int k=0; k<primes.length; k++) {
+                long[] r = residues[k];
+                for (int c=from; c<to; c++) {
+                    long a = r[c];
+                    if (a != 0) {
+                        long[] sum = sums[k][c - from];
+                        for (int d=c; d<columns; d++) {
+                            sum[d] += a * r[d];
+                        }
+                    }
+                }
+            }
+            if ((i + 1) % MultiModular.CHUNK == 0) {
+                modular.reduce(sums);
+            }
+        }
+        modular.reduce(sums);
+        for (int c=from; c<to; c++) {
+            for (int d=c; d<columns; d++) {
+                for (int k=0; k<primes.length; k++) {
+                    long target = c == d ? centralizers[k][c] : 0;
+                    if (sums[k][c - from][d] != target) {
+                        result.fail("Columns " + c + " and " + d + (c == d ? " do not have norm |C_G(c)|." : " are not orthogonal."));
+                        break;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The outcome of a verification: how many column pairs failed, with a few examples.
+     */
+    public static class Result {
+
+        private long failures = 0;
+        private final List<String> examples = new ArrayList<>();
+
+        private synchronized void fail(String example) {
+            failures++;
+            if (examples.size() < MAX_EXAMPLES) {
+                examples.add(example);
+            }
+        }
+
+        public synchronized boolean isValid() {
+            return failures == 0;
+        }
+
+        public synchronized long getFailures() {
+            return failures;
+        }
+
+        public synchronized List<String> getExamples() {
+            return Collections.unmodifiableList(new ArrayList<>(examples));
+        }
+
+        @Override
+        public synchronized String toString() {
+            if (isValid()) {
+                return "Both orthogonality relations hold.";
+            }
+            return failures + " column pairs fail, for example:\n  "
+                    + String.join("\n  ", examples);
+        }
+    }
+}
@@ -0,0 +1,154 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Evaluates characters of S_n with the Murnaghan-Nakayama rule. Everything here is statically
+ * typed to YoungDiagram and IntegerPartition, so the hot loop only ever sees one implementation
+ * of reduce, equals and hashCode.
+ *
+ * The memo maps each suffix of a class to the characters already computed at that suffix, so
+ * columns that end the same way share their work. The memo may be bounded, in which case the
+ * least recently used suffixes are evicted, whole, before each evaluation until it fits.
+ * @author Ari Weiland
+ */
+public final class SnEvaluator {
+
+    private final Map<IntegerPartition, Map<YoungDiagram, Long>> memo = new LinkedHashMap<>(16, 0.75f, true);
+    private final int maxSize;
+    private int size = 0;
+
+    /**
+     * Constructs an evaluator with an unbounded memo.
+     */
+    public SnEvaluator() {
+        this(Integer.MAX_VALUE);
+    }
+
+    /**
+     * Constructs an evaluator whose memo holds at most about maxSize characters.
+     * @param maxSize
+     */
+    public SnEvaluator(int maxSize) {
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Returns the character of yd at the class given by the parts of partition from index on.
+     * @param yd
+     * @param partition
+     * @param index
+     * @return
+     */
+    public int calculateChi(YoungDiagram yd, IntegerPartition partition, int index) {
+        return (int) calculateLongChi(yd, partition, index);
+    }
+
+    /**
+     * Returns the same character as calculateChi, computed in 64 bits. The result is exact
+     * whenever the degree of yd fits in a long, since no character exceeds the degree.
+     * @param yd
+     * @param partition
+     * @param index
+     * @return
+     */
+    public long calculateLongChi(YoungDiagram yd, IntegerPartition partition, int index) {
+        evict();
+        int[] p = partition.getPartition();
+        @SuppressWarnings({"unchecked", "rawtypes"})
+        Map<YoungDiagram, Long>[] records = new Map[p.length];
+        for (int i=index; i<p.length; i++) {
+            IntegerPartition suffix = new IntegerPartition(suffix(p, i));
+            records[i] = memo.get(suffix);
+            if (records[i] == null) {
+                records[i] = new HashMap<>();
+                memo.put(suffix, records[i]);
+            }
+        }
+        return calculateChi(yd, p, records, index);
+    }
+
+    private long calculateChi(YoungDiagram yd, int[] p, Map<YoungDiagram, Long>[] records, int index) {
+        if (yd.isEmpty()) {
+            return 1L;
+        }
+        Map<YoungDiagram, Long> record = records[index];
+        Long chi = record.get(yd);
+        if (GeneratorStats.ENABLED) {
+            GeneratorStats.get().chiCall(chi != null);
+        }
+        if (chi != null) {
+            return chi;
+        }
+        if (GeneratorStats.ENABLED) {
+            GeneratorStats.get().reduceCall(p[index]);
+        }
+        Map<YoungDiagram, Integer> map = yd.reduce(p[index]);
+        long sum = 0;
+        for (Map.Entry<YoungDiagram, Integer> e : map.entrySet()) {
+            long next = calculateChi(e.getKey(), p, records, index + 1);
+            sum += e.getValue() % 2 == 1 ? next : -next;
+        }
+        record.put(yd, sum);
+        size++;
+        return sum;
+    }
+
+    /**
+     * Returns the number of memoized characters.
+     * @return
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Returns a read-only view of the memo, mapping each class suffix to the characters known at it.
+     * @return
+     */
+    public Map<IntegerPartition, Map<YoungDiagram, Long>> getMemo() {
+        return Collections.unmodifiableMap(memo);
+    }
+
+    /**
+     * Adds known characters at a class suffix to the memo, such as ones restored from a snapshot.
+     * @param suffix
+     * @param chis
+     */
+    public void putAll(IntegerPartition suffix, Map<YoungDiagram, Long> chis) {
+        Map<YoungDiagram, Long> record = memo.get(suffix);
+        if (record == null) {
+            record = new HashMap<>();
+            memo.put(suffix, record);
+        }
+        size -= record.size();
+        record.putAll(chis);
+        size += record.size();
+    }
+
+    public void clear() {
+        memo.clear();
+        size = 0;
+    }
+
+    private void evict() {
+        Iterator<Map<YoungDiagram, Long>> iterator = memo.values().iterator();
+        while (size > maxSize && iterator.hasNext()) {
+            size -= iterator.next().size();
+            iterator.remove();
+        }
+    }
+
+    static int[] suffix(int[] p, int index) {
+        int[] suffix = new int[p.length - index];
+        System.arraycopy(p, index, suffix, 0, suffix.length);
+        return suffix;
+    }
+}
@@ -0,0 +1,213 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartitionBuilder;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * A second character table engine that works in the ring of symmetric functions instead of
+ * recursing on rim hooks. A column mu is the Schur expansion of the power sum p_mu, which is built
+ * by multiplying 1 by one power sum p_k at a time. Multiplying a Schur function by p_k adds a
+ * border strip of length k in every possible way (the Murnaghan-Nakayama rule in reverse).
+ *
+ * For H_n, Schur functions come in pairs s_alpha(x)s_beta(y), a positive k-cycle multiplies by
+ * p_k(x) + p_k(y) and a negative k-cycle multiplies by p_k(x) - p_k(y).
+ *
+ * Expansions are sparse vectors keyed by the rank of the diagram among all diagrams of its size.
+ * @author Ari Weiland
+ */
+public class SymmetricFunctionGenerator extends AbstractCharacterTableGenerator {
+
+    private final Map<Integer, List<YoungDiagram>> diagrams = new HashMap<>();
+    private final Map<Integer, Map<YoungDiagram, Integer>> ranks = new HashMap<>();
+    private final Map<Integer, List<SignedYoungDiagram>> signedDiagrams = new HashMap<>();
+    private final Map<Integer, Map<SignedYoungDiagram, Integer>> signedRanks = new HashMap<>();
+
+    @Override
+    public int[][] generateHnTable(int n) {
+        List<SignedIntegerPartition> sips = SignedIntegerPartition.all(n);
+        int length = sips.size();
+        int[][] table = new int[length][length];
+        for (int j=0; j<length; j++) { // col = sip
+            Map<Integer, Integer> expansion = expand(sips.get(j));
+            for (Map.Entry<Integer, Integer> e : expansion.entrySet()) {
+                table[e.getKey()][j] = e.getValue();
+            }
+        }
+        return table;
+    }
+
+    @Override
+    public int[][] generateSnTable(int n) {
+        List<IntegerPartition> ips = IntegerPartition.all(n);
+        int length = ips.size();
+        int[][] table = new int[length][length];
+        for (int j=0; j<length; j++) { // col = ip
+            Map<Integer, Integer> expansion = expand(ips.get(j));
+            for (Map.Entry<Integer, Integer> e : expansion.entrySet()) {
+                table[e.getKey()][j] = e.getValue();
+            }
+        }
+        return table;
+    }
+
+    /**
+     * Returns the Schur expansion of p_partition, mapping the rank of each YoungDiagram of
+     * size partition.getSize() to its character value. Zero coefficients are omitted.
+     * @param partition
+     * @return
+     */
+    public Map<Integer, Integer> expand(IntegerPartition partition) {
+        Map<Integer, Integer> vector = new HashMap<>();
+        vector.put(0, 1);
+        int size = 0;
+        for (int k : partition.getPartition()) {
+            Map<Integer, Integer> next = new HashMap<>();
+            List<YoungDiagram> from = getDiagrams(size);
+            Map<YoungDiagram, Integer> to = getRanks(size + k);
+            for (Map.Entry<Integer, Integer> e : vector.entrySet()) {
+                Map<YoungDiagram, Integer> strips = addBorderStrips(from.get(e.getKey()), k);
+                for (YoungDiagram yd : strips.keySet()) {
+                    add(next, to.get(yd), signFactor(strips.get(yd)) * e.getValue());
+                }
+            }
+            vector = next;
+            size += k;
+        }
+        return vector;
+    }
+
+    /**
+     * Returns the Schur expansion of p_partition, mapping the rank of each SignedYoungDiagram of
+     * size partition.getSize() to its character value. Zero coefficients are omitted.
+     * @param partition
+     * @return
+     */
+    public Map<Integer, Integer> expand(SignedIntegerPartition partition) {
+        Map<Integer, Integer> vector = new HashMap<>();
+        vector.put(0, 1);
+        int size = 0;
+        for (int p : partition.getPartition()) {
+            int k = Math.abs(p);
+            Map<Integer, Integer> next = new HashMap<>();
+            List<SignedYoungDiagram> from = getSignedDiagrams(size);
+            Map<SignedYoungDiagram, Integer> to = getSignedRanks(size + k);
+            for (Map.Entry<Integer, Integer> e : vector.entrySet()) {
+                SignedYoungDiagram syd = from.get(e.getKey());
+                Map<YoungDiagram, Integer> posStrips = addBorderStrips(syd.getPositive(), k);
+                for (YoungDiagram yd : posStrips.keySet()) {
+                    int chi = signFactor(posStrips.get(yd)) * e.getValue();
+                    add(next, to.get(new SignedYoungDiagram(yd, syd.getNegative())), chi);
+                }
+                Map<YoungDiagram, Integer> negStrips = addBorderStrips(syd.getNegative(), k);
+                for (YoungDiagram yd : negStrips.keySet()) {
+                    int chi = signFactor(negStrips.get(yd)) * e.getValue();
+                    add(next, to.get(new SignedYoungDiagram(syd.getPositive(), yd)), p < 0 ? -chi : chi);
+                }
+            }
+            vector = next;
+            size += k;
+        }
+        return vector;
+    }
+
+    /**
+     * Returns a map of Young Diagrams generated by adding a border strip of length n to yd,
+     * mapped to the height of the strip added. This is done on the beta-numbers of yd, where
+     * adding a strip moves one beta-number up by n into an empty position.
+     * @param yd
+     * @param n
+     * @return
+     */
+    private Map<YoungDiagram, Integer> addBorderStrips(YoungDiagram yd, int n) {
+        int[] p = yd.getPartition().getPartition();
+        int length = p.length + n;
+        boolean[] beta = new boolean[p.length == 0 ? length + n : p[0] + length + n];
+        for (int i=0; i<length; i++) {
+            beta[(i < p.length ? p[i] : 0) + length - 1 - i] = true;
+        }
+        Map<YoungDiagram, Integer> added = new HashMap<>();
+        for (int b=0; b + n < beta.length; b++) {
+            if (beta[b] && !beta[b + n]) {
+                int height = 1;
+                for (int c=b+1; c<b+n; c++) {
+                    if (beta[c]) {
+                        height++;
+                    }
+                }
+                beta[b] = false;
+                beta[b + n] = true;
+                IntegerPartitionBuilder builder = new IntegerPartitionBuilder(yd.getPartition().getSize() + n);
+                int i = 0;
+                for (int c=beta.length-1; c>=0; c--) {
+                    if (beta[c]) {
+                        builder.addPart(c - (length - 1 - i));
+                        i++;
+                    }
+                }
+                added.put(new YoungDiagram(builder.build()), height);
+                beta[b] = true;
+                beta[b + n] = false;
+            }
+        }
+        return added;
+    }
+
+    private int signFactor(int height) {
+        return height % 2 == 1 ? 1 : -1;
+    }
+
+    private void add(Map<Integer, Integer> vector, int rank, int chi) {
+        Integer old = vector.get(rank);
+        int sum = (old == null ? 0 : old) + chi;
+        if (sum == 0) {
+            vector.remove(rank);
+        } else {
+            vector.put(rank, sum);
+        }
+    }
+
+    private List<YoungDiagram> getDiagrams(int size) {
+        if (!diagrams.containsKey(size)) {
+            diagrams.put(size, YoungDiagram.all(size));
+        }
+        return diagrams.get(size);
+    }
+
+    private Map<YoungDiagram, Integer> getRanks(int size) {
+        if (!ranks.containsKey(size)) {
+            Map<YoungDiagram, Integer> map = new HashMap<>();
+            List<YoungDiagram> list = getDiagrams(size);
+            for (int i=0; i<list.size(); i++) {
+                map.put(list.get(i), i);
+            }
+            ranks.put(size, map);
+        }
+        return ranks.get(size);
+    }
+
+    private List<SignedYoungDiagram> getSignedDiagrams(int size) {
+        if (!signedDiagrams.containsKey(size)) {
+            signedDiagrams.put(size, SignedYoungDiagram.all(size));
+        }
+        return signedDiagrams.get(size);
+    }
+
+    private Map<SignedYoungDiagram, Integer> getSignedRanks(int size) {
+        if (!signedRanks.containsKey(size)) {
+            Map<SignedYoungDiagram, Integer> map = new HashMap<>();
+            List<SignedYoungDiagram> list = getSignedDiagrams(size);
+            for (int i=0; i<list.size(); i++) {
+                map.put(list.get(i), i);
+            }
+            signedRanks.put(size, map);
+        }
+        return signedRanks.get(size);
+    }
+}
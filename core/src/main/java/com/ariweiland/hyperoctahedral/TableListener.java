@@ -0,0 +1,17 @@
+package com.ariweiland.hyperoctahedral;
+
+/**
+ * Receives the rows of a character table as they are generated, so callers can display or
+ * write them out before the whole table is done.
+ * @author Ari Weiland
+ */
+public interface TableListener {
+
+    /**
+     * Called once for every row, in order. The table is square, so row.length is also the
+     * number of rows in the table.
+     * @param index
+     * @param row
+     */
+    void rowGenerated(int index, int[] row);
+}
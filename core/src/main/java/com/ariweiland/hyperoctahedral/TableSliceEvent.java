@@ -0,0 +1,30 @@
+package com.ariweiland.hyperoctahedral;
+
+import jdk.jfr.Category;
+import jdk.jfr.Description;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+
+/**
+ * A Flight Recorder event for one completed row (or column) of a character table. The event's
+ * duration is the time spent computing the slice.
+ * @author Ari Weiland
+ */
+@Name("com.ariweiland.hyperoctahedral.TableSlice")
+@Label("Table Slice")
+@Category("Hyperoctahedral")
+@Description("A row or column of a character table was generated")
+class TableSliceEvent extends Event {
+
+    @Label("Table")
+    String table;
+
+    @Label("Axis")
+    String axis;
+
+    @Label("Index")
+    int index;
+
+    transient long start;
+}
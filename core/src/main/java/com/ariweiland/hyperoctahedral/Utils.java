@@ -0,0 +1,81 @@
+package com.ariweiland.hyperoctahedral;
+
+import java.math.BigInteger;
+
+/**
+ * @author Ari Weiland
+ */
+public class Utils {
+
+    public static int[] cleanArray(int[] array, int length) {
+        int[] output = new int[length];
+        System.arraycopy(array, 0, output, 0, length);
+        return output;
+    }
+
+    public static int sum(int[] p) {
+        int sum = 0;
+        for (int i : p) {
+            sum += i;
+        }
+        return sum;
+    }
+
+    public static int min(int... ints) {
+        int min = ints[0];
+        for (int i=1; i<ints.length; i++) {
+            min = Math.min(min, ints[i]);
+        }
+        return min;
+    }
+
+    public static BigInteger factorial(int n) {
+        BigInteger product = BigInteger.ONE;
+        for (int i=2; i<=n; i++) {
+            product = product.multiply(BigInteger.valueOf(i));
+        }
+        return product;
+    }
+
+    /**
+     * Returns n choose k, or 0 if k is negative or greater than n.
+     * @param n
+     * @param k
+     * @return
+     */
+    public static BigInteger binomial(int n, int k) {
+        if (k < 0 || k > n) {
+            return BigInteger.ZERO;
+        }
+        k = Math.min(k, n - k);
+        BigInteger product = BigInteger.ONE;
+        for (int i=1; i<=k; i++) {
+            product = product.multiply(BigInteger.valueOf(n - k + i)).divide(BigInteger.valueOf(i));
+        }
+        return product;
+    }
+
+    /**
+     * Returns the largest count primes below 2^bits, in decreasing order.
+     * @param bits
+     * @param count
+     * @return
+     */
+    public static long[] primesBelow(int bits, int count) {
+        long[] primes = new long[count];
+        long candidate = (1L << bits) - 1;
+        for (int k=0; k<count; candidate-=2) {
+            boolean isPrime = true;
+            for (long f=3; f*f<=candidate; f+=2) {
+                if (candidate % f == 0) {
+                    isPrime = false;
+                    break;
+                }
+            }
+            if (isPrime) {
+                primes[k++] = candidate;
+            }
+        }
+        return primes;
+    }
+}
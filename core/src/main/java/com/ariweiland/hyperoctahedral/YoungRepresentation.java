@@ -0,0 +1,196 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.table.SparseMatrix;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.StandardTableaux;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+/**
+ * The irreducible representation of S_n or H_n labeled by a Young diagram or a signed diagram,
+ * in Young's seminormal or orthogonal form, given by the matrices of the Coxeter generators on
+ * the basis of standard tableaux. S_n is generated by the transpositions s_i = (i, i+1) for i
+ * from 1 to n - 1, and H_n by those and s_0, which negates 1.
+ *
+ * The generator s_i acts on the tableau T by
+ *
+ *   s_i T = T                               if i and i + 1 share a row
+ *   s_i T = -T                              if they share a column
+ *   s_i T = T'                              if they are in different diagrams
+ *   s_i T = 1/r T + c T'                    otherwise
+ *
+ * where T' is T with i and i + 1 swapped, and r is the content of i + 1 less the content of i.
+ * In the orthogonal form c = sqrt(1 - 1/r^2), and in the seminormal form c = 1 when i is above
+ * i + 1 in T and c = 1 - 1/r^2 otherwise. s_0 fixes a tableau with 1 in the positive diagram, and
+ * negates one with 1 in the negative diagram. Row T of a matrix holds the coefficients of s_i T,
+ * so the matrices act on row vectors, and in the orthogonal form they are symmetric.
+ *
+ * Every row of a matrix has at most two entries, and T' is ranked from T in O(i), so a matrix
+ * takes time and memory linear in the dimension. The matrices are built in parallel, one per
+ * generator, and streamed in order to a listener, with at most one per thread in flight.
+ * @author Ari Weiland
+ */
+public class YoungRepresentation {
+
+    public enum Form {
+        SEMINORMAL, ORTHOGONAL
+    }
+
+    private final StandardTableaux tableaux;
+    private final Form form;
+    private final boolean signed;
+    private final int dimension;
+
+    public YoungRepresentation(YoungDiagram yd, Form form) {
+        this(new StandardTableaux(yd), form, false);
+    }
+
+    public YoungRepresentation(SignedYoungDiagram syd, Form form) {
+        this(new StandardTableaux(syd), form, true);
+    }
+
+    private YoungRepresentation(StandardTableaux tableaux, Form form, boolean signed) {
+        long dimension = tableaux.count();
+        if (dimension >= Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("A representation of dimension " + dimension + " is too large to store.");
+        }
+        this.tableaux = tableaux;
+        this.form = form;
+        this.signed = signed;
+        this.dimension = (int) dimension;
+    }
+
+    public int getDimension() {
+        return dimension;
+    }
+
+    public Form getForm() {
+        return form;
+    }
+
+    /**
+     * Returns the first generator, which is 0 for H_n and 1 for S_n.
+     * @return
+     */
+    public int firstGenerator() {
+        return signed ? 0 : 1;
+    }
+
+    /**
+     * Returns the last generator, n - 1.
+     * @return
+     */
+    public int lastGenerator() {
+        return tableaux.getSize() - 1;
+    }
+
+    /**
+     * Returns the matrix of the generator s_i.
+     * @param i
+     * @return
+     */
+    public SparseMatrix generator(int i) {
+        if (i < firstGenerator() || i > lastGenerator()) {
+            throw new IllegalArgumentException("There is no generator s_" + i + ".");
+        }
+        int[] rowPointers = new int[dimension + 1];
+        int[] columns = new int[2 * dimension];
+        double[] values = new double[2 * dimension];
+        int p = 0;
+        StandardTableaux.Cursor cursor = tableaux.cursor();
+        for (int t=0; t<dimension; t++, cursor.next()) {
+            rowPointers[t] = p;
+            if (i == 0) {
+                columns[p] = t;
+                values[p++] = tableaux.block(cursor.row(1)) == 0 ? 1 : -1;
+                continue;
+            }
+            int a = cursor.row(i);
+            int b = cursor.row(i + 1);
+            if (a == b) {
+                columns[p] = t;
+                values[p++] = 1;
+            } else if (tableaux.block(a) != tableaux.block(b)) {
+                columns[p] = (int) cursor.swappedRank(i);
+                values[p++] = 1;
+            } else if (cursor.column(i) == cursor.column(i + 1)) {
+                columns[p] = t;
+                values[p++] = -1;
+            } else {
+                int r = tableaux.content(b, cursor.column(i + 1)) - tableaux.content(a, cursor.column(i));
+                double c;
+                if (form == Form.ORTHOGONAL) {
+                    c = Math.sqrt(1 - 1.0 / ((double) r * r));
+                } else {
+                    c = a < b ? 1 : 1 - 1.0 / ((double) r * r);
+                }
+                int u = (int) cursor.swappedRank(i);
+                if (u < t) {
+                    columns[p] = u;
+                    values[p++] = c;
+                }
+                columns[p] = t;
+                values[p++] = 1.0 / r;
+                if (u > t) {
+                    columns[p] = u;
+                    values[p++] = c;
+                }
+            }
+        }
+        rowPointers[dimension] = p;
+        return new SparseMatrix(rowPointers, Arrays.copyOf(columns, p), Arrays.copyOf(values, p));
+    }
+
+    /**
+     * Builds the matrix of every generator on all available processors, handing each to the
+     * listener in order.
+     * @param listener
+     */
+    public void generators(MatrixListener listener) {
+        generators(listener, Runtime.getRuntime().availableProcessors());
+    }
+
+    /**
+     * Builds the matrix of every generator on the given number of threads, handing each to the
+     * listener in order, on the calling thread.
+     * @param listener
+     * @param threads
+     */
+    public void generators(MatrixListener listener, int threads) {
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try {
+            Deque<Future<SparseMatrix>> futures = new ArrayDeque<>();
+            int next = firstGenerator();
+            for (int i=firstGenerator(); i<=lastGenerator(); i++) {
+                while (next <= lastGenerator() && futures.size() < threads) {
+                    final int g = next++;
+                    futures.add(pool.submit(new Callable<SparseMatrix>() {
+                        @Override
+                        public SparseMatrix call() {
+                            return generator(g);
+                        }
+                    }));
+                }
+                listener.matrixGenerated(i, futures.poll().get());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Building the generators was interrupted.", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) e.getCause();
+            }
+            throw new IllegalStateException("Building the generators failed.", e.getCause());
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+}
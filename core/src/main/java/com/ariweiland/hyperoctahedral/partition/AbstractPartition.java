@@ -1,5 +1,7 @@
 package com.ariweiland.hyperoctahedral.partition;
 
+import java.math.BigInteger;
+
 /**
  * A superclass for IntegerPartition and SignedIntegerPartition, detailing a few methods and members
  * that both classes use. Partitions should be instantiated from a full int array, or with an
@@ -21,10 +23,25 @@ public abstract class AbstractPartition {
     public abstract int[] getPartition();
 
     /**
-     * Returns a new partition that is the inverse of this one.
+     * Returns the order of the centralizer of an element of the conjugacy class this partition
+     * describes.
+     * @return
+     */
+    public abstract BigInteger centralizerOrder();
+
+    /**
+     * Returns the order of the group whose conjugacy classes partitions of this kind describe.
      * @return
      */
-    public abstract AbstractPartition inverse();
+    public abstract BigInteger groupOrder();
+
+    /**
+     * Returns the number of elements in the conjugacy class this partition describes.
+     * @return
+     */
+    public BigInteger classSize() {
+        return groupOrder().divide(centralizerOrder());
+    }
 
     @Override
     public boolean equals(Object o) {
@@ -2,6 +2,7 @@ package com.ariweiland.hyperoctahedral.partition;
 
 import com.ariweiland.hyperoctahedral.Utils;
 
+import java.math.BigInteger;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
@@ -35,7 +36,10 @@ public class IntegerPartition extends AbstractPartition implements Comparable<In
         return partition;
     }
 
-    @Override
+    /**
+     * Returns the conjugate partition, whose parts are the column lengths of this one.
+     * @return
+     */
     public IntegerPartition inverse() {
         IntegerPartitionBuilder builder = new IntegerPartitionBuilder(getSize());
         int i = partition.length - 1;
@@ -51,6 +55,55 @@ public class IntegerPartition extends AbstractPartition implements Comparable<In
         return builder.build();
     }
 
+    /**
+     * Returns the order of the centralizer in S_n of a permutation of this cycle type, which is
+     * the product of k^{m_k} m_k! over the multiplicities m_k of each part k.
+     * @return
+     */
+    @Override
+    public BigInteger centralizerOrder() {
+        return centralizerOrder(1);
+    }
+
+    /**
+     * Returns the product of (scale k)^{m_k} m_k! over the multiplicities m_k of each part k.
+     * H_n centralizers use a scale of 2.
+     * @param scale
+     * @return
+     */
+    BigInteger centralizerOrder(int scale) {
+        BigInteger product = BigInteger.ONE;
+        int i = 0;
+        while (i < partition.length) {
+            int k = partition[i];
+            int m = 0;
+            while (i < partition.length && partition[i] == k) {
+                m++;
+                i++;
+            }
+            product = product.multiply(BigInteger.valueOf((long) scale * k).pow(m)).multiply(Utils.factorial(m));
+        }
+        return product;
+    }
+
+    /**
+     * Returns the class of H_n containing the permutations of this cycle type, as the signed
+     * permutations with every sign positive.
+     * @return
+     */
+    public SignedIntegerPartition fuse() {
+        return new SignedIntegerPartition(this, new IntegerPartition());
+    }
+
+    /**
+     * Returns n!, the order of S_n.
+     * @return
+     */
+    @Override
+    public BigInteger groupOrder() {
+        return Utils.factorial(getSize());
+    }
+
     @Override
     public int compareTo(IntegerPartition o) {
         // compare length
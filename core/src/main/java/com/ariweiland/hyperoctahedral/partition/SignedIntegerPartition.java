@@ -1,6 +1,10 @@
 package com.ariweiland.hyperoctahedral.partition;
 
+import com.ariweiland.hyperoctahedral.Utils;
+
+import java.math.BigInteger;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 
@@ -59,7 +63,11 @@ public class SignedIntegerPartition extends AbstractPartition implements Compara
         return joined;
     }
 
-    @Override
+    /**
+     * Returns the conjugate of each half, keeping the positive and negative parts apart. Use
+     * reverse() to swap the halves.
+     * @return
+     */
     public SignedIntegerPartition inverse() {
         IntegerPartition pos = getPositive().inverse();
         IntegerPartition neg = getNegative().inverse();
@@ -74,6 +82,52 @@ public class SignedIntegerPartition extends AbstractPartition implements Compara
         return new SignedIntegerPartition(getNegative(), getPositive());
     }
 
+    /**
+     * Returns the cycle type in S_2n of a signed permutation of this signed cycle type, acting on
+     * the 2n points +1, -1, ..., +n, -n. A positive k-cycle moves two disjoint k-cycles of points,
+     * and a negative k-cycle moves one 2k-cycle.
+     * @return
+     */
+    public IntegerPartition fuse() {
+        int[] pos = positive.getPartition();
+        int[] neg = negative.getPartition();
+        int[] parts = new int[2 * pos.length + neg.length];
+        for (int i=0; i<pos.length; i++) {
+            parts[2 * i] = pos[i];
+            parts[2 * i + 1] = pos[i];
+        }
+        for (int i=0; i<neg.length; i++) {
+            parts[2 * pos.length + i] = 2 * neg[i];
+        }
+        Arrays.sort(parts);
+        for (int i=0; i<parts.length/2; i++) {
+            int part = parts[i];
+            parts[i] = parts[parts.length - 1 - i];
+            parts[parts.length - 1 - i] = part;
+        }
+        return new IntegerPartition(parts);
+    }
+
+    /**
+     * Returns the order of the centralizer in H_n of a signed permutation of this signed cycle
+     * type. Each k-cycle, positive or negative, commutes with 2k signed permutations of its own
+     * points, and cycles of the same length and sign may be permuted among themselves.
+     * @return
+     */
+    @Override
+    public BigInteger centralizerOrder() {
+        return positive.centralizerOrder(2).multiply(negative.centralizerOrder(2));
+    }
+
+    /**
+     * Returns 2^n n!, the order of H_n.
+     * @return
+     */
+    @Override
+    public BigInteger groupOrder() {
+        return BigInteger.ONE.shiftLeft(getSize()).multiply(Utils.factorial(getSize()));
+    }
+
     @Override
     public int compareTo(SignedIntegerPartition o) {
         int[] myPos = positive.getPartition();
@@ -0,0 +1,132 @@
+package com.ariweiland.hyperoctahedral.partition;
+
+import java.math.BigInteger;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Labels a conjugacy class of D_n, the signed permutations with an even number of negative
+ * cycles. A class of H_n with an even number of negative parts is a class of D_n, with a sign of
+ * 0, unless it has no negative parts and every positive part is even, in which case it splits into
+ * two classes of D_n of half the size, with signs of +1 and -1.
+ *
+ * Unlike the labels of S_n and H_n, these have no inverse(). Conjugating the negative half
+ * changes its number of parts, so it would not map the classes of D_n to classes of D_n.
+ * @author Ari Weiland
+ */
+public class SplitSignedIntegerPartition extends AbstractPartition {
+
+    private final SignedIntegerPartition partition;
+    private final int sign;
+
+    public SplitSignedIntegerPartition(SignedIntegerPartition partition, int sign) {
+        super(partition.getSize());
+        this.partition = partition;
+        this.sign = sign;
+    }
+
+    public SignedIntegerPartition getSignedPartition() {
+        return partition;
+    }
+
+    /**
+     * Returns +1 or -1 for either half of a split class, or 0 otherwise.
+     * @return
+     */
+    public int getSign() {
+        return sign;
+    }
+
+    public boolean isSplit() {
+        return sign != 0;
+    }
+
+    @Override
+    public int[] getPartition() {
+        return partition.getPartition();
+    }
+
+    /**
+     * Returns the order of the centralizer in D_n, which is half the centralizer in H_n, or all of
+     * it for a split class. D_0 and D_1 are trivial.
+     * @return
+     */
+    @Override
+    public BigInteger centralizerOrder() {
+        BigInteger order = partition.centralizerOrder();
+        return isSplit() || getSize() == 0 ? order : order.shiftRight(1);
+    }
+
+    /**
+     * Returns 2^(n-1) n!, the order of D_n.
+     * @return
+     */
+    @Override
+    public BigInteger groupOrder() {
+        BigInteger order = partition.groupOrder();
+        return getSize() == 0 ? order : order.shiftRight(1);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+        if (!super.equals(o)) return false;
+
+        SplitSignedIntegerPartition that = (SplitSignedIntegerPartition) o;
+
+        return sign == that.sign && partition.equals(that.partition);
+
+    }
+
+    @Override
+    public int hashCode() {
+        int result = super.hashCode();
+        result = 31 * result + partition.hashCode();
+        result = 31 * result + sign;
+        return result;
+    }
+
+    @Override
+    public String toString() {
+        return partition + (sign > 0 ? "+" : sign < 0 ? "-" : "");
+    }
+
+    /**
+     * Returns whether the class of H_n splits in D_n.
+     * @param sip
+     * @return
+     */
+    public static boolean splits(SignedIntegerPartition sip) {
+        if (sip.getSize() == 0 || sip.getNegative().getSize() > 0) {
+            return false;
+        }
+        for (int part : sip.getPositive().getPartition()) {
+            if (part % 2 != 0) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    /**
+     * Returns all classes of D_n, in the order of SignedIntegerPartition.all(n), with the + half
+     * of a split class before the - half.
+     * @param n
+     * @return
+     */
+    public static List<SplitSignedIntegerPartition> all(int n) {
+        List<SplitSignedIntegerPartition> list = new ArrayList<>();
+        for (SignedIntegerPartition sip : SignedIntegerPartition.all(n)) {
+            if (sip.getNegative().getPartition().length % 2 == 0) {
+                if (splits(sip)) {
+                    list.add(new SplitSignedIntegerPartition(sip, 1));
+                    list.add(new SplitSignedIntegerPartition(sip, -1));
+                } else {
+                    list.add(new SplitSignedIntegerPartition(sip, 0));
+                }
+            }
+        }
+        return list;
+    }
+}
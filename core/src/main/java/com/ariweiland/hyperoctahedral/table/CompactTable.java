@@ -0,0 +1,262 @@
+package com.ariweiland.hyperoctahedral.table;
+
+import java.math.BigInteger;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * An exact character table that stores values in the narrowest primitive width that suits them.
+ * Most characters are tiny, and only a few columns such as the identity hold large values. Each
+ * row is cut into blocks of BLOCK columns, and each block is given the width (1, 2, 4 or 8 bytes)
+ * that minimizes its memory. The cells that do not fit are replaced by a sentinel and spilled,
+ * exactly, to a side table. Every lookup is O(1).
+ *
+ * A row is packed little-endian into a single byte array, with the offset and width of each block
+ * alongside it.
+ *
+ * Rows are set one at a time, in any order. Values too large for a long are always spilled.
+ * Once every row is set, the table may be read from any number of threads.
+ * @author Ari Weiland
+ */
+public class CompactTable implements RowSource {
+
+    public static final int BLOCK = 32;
+
+    /**
+     * The approximate cost in bytes of one spilled cell: a hash map entry, its key and its value.
+     */
+    private static final int SPILL_BYTES = 80;
+
+    private final int rows;
+    private final int columns;
+    private final byte[][] data;
+    private final byte[][] widths;
+    private final int[][] offsets;
+    private final Map<Long, BigInteger> spills = new HashMap<>();
+
+    public CompactTable(int rows, int columns) {
+        this.rows = rows;
+        this.columns = columns;
+        this.data = new byte[rows][];
+        this.widths = new byte[rows][];
+        this.offsets = new int[rows][];
+    }
+
+    /**
+     * Returns a compact copy of an int table.
+     * @param table
+     * @return
+     */
+    public static CompactTable of(int[][] table) {
+        CompactTable compact = new CompactTable(table.length, table.length == 0 ? 0 : table[0].length);
+        long[] row = new long[compact.columns];
+        for (int i=0; i<table.length; i++) {
+            for (int j=0; j<row.length; j++) {
+                row[j] = table[i][j];
+            }
+            compact.setRow(i, row);
+        }
+        return compact;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Stores row i, replacing whatever was there.
+     * @param i
+     * @param row
+     */
+    public void setRow(int i, long[] row) {
+        setRow(i, row, null);
+    }
+
+    /**
+     * Stores row i, replacing whatever was there.
+     * @param i
+     * @param row
+     */
+    public void setRow(int i, BigInteger[] row) {
+        long[] values = new long[row.length];
+        BigInteger[] big = new BigInteger[row.length];
+        for (int j=0; j<row.length; j++) {
+            if (row[j].bitLength() < 64) {
+                values[j] = row[j].longValue();
+            } else {
+                values[j] = sentinel(8);
+                big[j] = row[j];
+            }
+        }
+        setRow(i, values, big);
+    }
+
+    /**
+     * Stores row i, where big holds the values that do not fit in a long, or is null.
+     */
+    private void setRow(int i, long[] row, BigInteger[] big) {
+        if (row.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " values but got " + row.length);
+        }
+        if (data[i] != null) {
+            for (int j=0; j<columns; j++) {
+                spills.remove(key(i, j));
+            }
+        }
+        int blocks = (columns + BLOCK - 1) / BLOCK;
+        byte[] w = new byte[blocks];
+        int[] o = new int[blocks];
+        int length = 0;
+        for (int b=0; b<blocks; b++) {
+            w[b] = (byte) chooseWidth(row, b * BLOCK, Math.min(columns, (b + 1) * BLOCK));
+            o[b] = length;
+            length += w[b] * (Math.min(columns, (b + 1) * BLOCK) - b * BLOCK);
+        }
+        byte[] d = new byte[length];
+        for (int j=0; j<columns; j++) {
+            int width = w[j / BLOCK];
+            int offset = o[j / BLOCK] + (j % BLOCK) * width;
+            if (fits(row[j], width)) {
+                store(d, offset, width, row[j]);
+            } else {
+                store(d, offset, width, sentinel(width));
+                spills.put(key(i, j), big != null && big[j] != null ? big[j] : BigInteger.valueOf(row[j]));
+            }
+        }
+        data[i] = d;
+        widths[i] = w;
+        offsets[i] = o;
+    }
+
+    /**
+     * Returns the value at row i and column j.
+     * @param i
+     * @param j
+     * @return
+     */
+    public BigInteger get(int i, int j) {
+        int width = widths[i][j / BLOCK];
+        long value = load(data[i], offsets[i][j / BLOCK] + (j % BLOCK) * width, width);
+        if (value == sentinel(width)) {
+            return spills.get(key(i, j));
+        }
+        return BigInteger.valueOf(value);
+    }
+
+    /**
+     * Returns the value at row i and column j, throwing an ArithmeticException if it does
+     * not fit in a long.
+     * @param i
+     * @param j
+     * @return
+     */
+    public long getLong(int i, int j) {
+        int width = widths[i][j / BLOCK];
+        long value = load(data[i], offsets[i][j / BLOCK] + (j % BLOCK) * width, width);
+        if (value == sentinel(width)) {
+            return spills.get(key(i, j)).longValueExact();
+        }
+        return value;
+    }
+
+    /**
+     * Returns the values of row i as longs, throwing an ArithmeticException if any does not fit.
+     * @param i
+     * @return
+     */
+    @Override
+    public long[] getRow(int i) {
+        long[] row = new long[columns];
+        for (int j=0; j<columns; j++) {
+            row[j] = getLong(i, j);
+        }
+        return row;
+    }
+
+    /**
+     * Returns the number of spilled cells.
+     * @return
+     */
+    public int getSpillCount() {
+        return spills.size();
+    }
+
+    /**
+     * Returns the approximate number of bytes used by the values, counting the block headers and
+     * SPILL_BYTES plus the value for each spilled cell.
+     * @return
+     */
+    public long getStorageBytes() {
+        long total = 0;
+        for (int i=0; i<rows; i++) {
+            if (data[i] != null) {
+                total += data[i].length + 5L * widths[i].length;
+            }
+        }
+        for (BigInteger value : spills.values()) {
+            total += SPILL_BYTES + value.bitLength() / 8;
+        }
+        return total;
+    }
+
+    /**
+     * Returns the width that minimizes the storage of row[from..to), counting the spilled cells.
+     * The sentinel of each width is reserved, so a value equal to it is spilled too.
+     * @param row
+     * @param from
+     * @param to
+     * @return
+     */
+    private static int chooseWidth(long[] row, int from, int to) {
+        int best = 8;
+        long bestCost = Long.MAX_VALUE;
+        for (int width=1; width<=8; width*=2) {
+            long cost = (long) width * (to - from);
+            for (int j=from; j<to; j++) {
+                if (!fits(row[j], width)) {
+                    cost += SPILL_BYTES;
+                }
+            }
+            if (cost < bestCost) {
+                best = width;
+                bestCost = cost;
+            }
+        }
+        return best;
+    }
+
+    private static boolean fits(long value, int width) {
+        return value > sentinel(width) && value <= -(sentinel(width) + 1);
+    }
+
+    private static long sentinel(int width) {
+        return -1L << (8 * width - 1);
+    }
+
+    private static void store(byte[] d, int offset, int width, long value) {
+        for (int k=0; k<width; k++) {
+            d[offset + k] = (byte) (value >>> (8 * k));
+        }
+    }
+
+    /**
+     * Reads a little-endian value of the given width, extending its sign.
+     */
+    private static long load(byte[] d, int offset, int width) {
+        long value = d[offset + width - 1]; // the top byte carries the sign
+        for (int k=width-2; k>=0; k--) {
+            value = (value << 8) | (d[offset + k] & 0xff);
+        }
+        return value;
+    }
+
+    private long key(int i, int j) {
+        return (long) i * columns + j;
+    }
+}
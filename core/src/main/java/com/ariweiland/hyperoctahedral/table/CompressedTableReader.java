@@ -0,0 +1,246 @@
+package com.ariweiland.hyperoctahedral.table;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+
+/**
+ * Reads a table written by CompressedTableWriter. Only the header and the block index are read
+ * up front. Rows are decoded on demand, one block at a time, so reading row i seeks straight to
+ * its block, and reading rows in order streams through the file without ever holding more than
+ * one block. Each block is checked against its CRC32 when it is loaded, then inflated. Tables
+ * can be read from a file or from a buffer.
+ * @author Ari Weiland
+ */
+public class CompressedTableReader implements RowSource, Closeable {
+
+    private final RandomAccessFile file;
+    private final ByteBuffer buffer;
+    private final String name;
+    private final String type;
+    private final int columns;
+    private final int rowsPerBlock;
+    private final int rows;
+    private final long[] offsets;
+    private final int[] lengths;
+    private final int[] checksums;
+
+    private int loaded = -1;
+    private byte[] block;
+    private int position;
+    private int next; // the row that the next decode in the loaded block yields
+
+    public CompressedTableReader(File file) throws IOException {
+        this(new RandomAccessFile(file, "r"), null, file.toString());
+    }
+
+    /**
+     * Reads a table held in a buffer, from its position to its limit, such as one mapped from a
+     * file or loaded from a resource. The buffer itself is left untouched.
+     * @param buffer
+     * @param name describes the source in error messages
+     * @throws IOException
+     */
+    public CompressedTableReader(ByteBuffer buffer, String name) throws IOException {
+        this(null, buffer.slice(), name);
+    }
+
+    private CompressedTableReader(RandomAccessFile file, ByteBuffer buffer, String name) throws IOException {
+        this.file = file;
+        this.buffer = buffer;
+        this.name = name;
+        try {
+            ByteBuffer header = read(0, 6);
+            if (header.getInt() != CompressedTableWriter.MAGIC) {
+                throw new IOException(name + " is not a compressed table.");
+            }
+            int length = header.getShort() & 0xFFFF;
+            header = read(6, length + 8);
+            byte[] utf = new byte[length];
+            header.get(utf);
+            this.type = new String(utf, StandardCharsets.UTF_8);
+            this.columns = header.getInt();
+            this.rowsPerBlock = header.getInt();
+            ByteBuffer footer = read(length() - 12, 12);
+            long index = footer.getLong();
+            if (footer.getInt() != CompressedTableWriter.MAGIC) {
+                throw new IOException(name + " is truncated; it has no index.");
+            }
+            ByteBuffer counts = read(index, 8);
+            this.rows = counts.getInt();
+            int blocks = counts.getInt();
+            ByteBuffer entries = read(index + 8, 16 * blocks);
+            this.offsets = new long[blocks + 1];
+            this.lengths = new int[blocks];
+            this.checksums = new int[blocks];
+            for (int b=0; b<blocks; b++) {
+                offsets[b] = entries.getLong();
+                lengths[b] = entries.getInt();
+                checksums[b] = entries.getInt();
+            }
+            offsets[blocks] = index;
+        } catch (IOException | RuntimeException e) {
+            close();
+            throw e;
+        }
+    }
+
+    /**
+     * Returns the table type it was written with, such as "S20".
+     * @return
+     */
+    public String getType() {
+        return type;
+    }
+
+    @Override
+    public int getRows() {
+        return rows;
+    }
+
+    @Override
+    public int getColumns() {
+        return columns;
+    }
+
+    /**
+     * Returns row i. Reading rows in increasing order is cheapest, since each block is only
+     * decoded once.
+     * @param i
+     * @return
+     * @throws IOException
+     */
+    public synchronized long[] readRow(int i) throws IOException {
+        if (i < 0 || i >= rows) {
+            throw new IndexOutOfBoundsException("Row " + i + " of " + rows);
+        }
+        int b = i / rowsPerBlock;
+        if (b != loaded || i < next) {
+            load(b);
+        }
+        long[] row = new long[columns];
+        while (next <= i) {
+            decode(row);
+        }
+        return row;
+    }
+
+    /**
+     * Returns row i, as readRow does, for callers that stream over any RowSource. Threads that
+     * share a reader take turns, so each should read runs of consecutive rows.
+     * @param i
+     * @return
+     */
+    @Override
+    public long[] getRow(int i) {
+        try {
+            return readRow(i);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Reads the whole table into compact storage.
+     * @return
+     * @throws IOException
+     */
+    public CompactTable readTable() throws IOException {
+        CompactTable table = new CompactTable(rows, columns);
+        for (int i=0; i<rows; i++) {
+            table.setRow(i, readRow(i));
+        }
+        return table;
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (file != null) {
+            file.close();
+        }
+    }
+
+    private long length() throws IOException {
+        return file != null ? file.length() : buffer.capacity();
+    }
+
+    /**
+     * Returns the given number of bytes from the given offset of the source.
+     */
+    private ByteBuffer read(long offset, int count) throws IOException {
+        if (offset < 0 || count < 0 || offset + count > length()) {
+            throw new IOException(name + " is truncated.");
+        }
+        byte[] bytes = new byte[count];
+        if (file != null) {
+            file.seek(offset);
+            file.readFully(bytes);
+        } else {
+            ByteBuffer source = buffer.duplicate();
+            source.position((int) offset);
+            source.get(bytes);
+        }
+        return ByteBuffer.wrap(bytes);
+    }
+
+    private void load(int b) throws IOException {
+        if (b != loaded) {
+            byte[] deflated = read(offsets[b], (int) (offsets[b + 1] - offsets[b])).array();
+            CRC32 crc = new CRC32();
+            crc.update(deflated);
+            if ((int) crc.getValue() != checksums[b]) {
+                throw new IOException("Block " + b + " is corrupt.");
+            }
+            block = new byte[lengths[b]];
+            Inflater inflater = new Inflater();
+            try {
+                inflater.setInput(deflated);
+                if (inflater.inflate(block) != block.length || !inflater.finished()) {
+                    throw new IOException("Block " + b + " does not inflate to its recorded length.");
+                }
+            } catch (DataFormatException e) {
+                throw new IOException("Block " + b + " is corrupt.", e);
+            } finally {
+                inflater.end();
+            }
+            loaded = b;
+        }
+        position = 0;
+        next = b * rowsPerBlock;
+    }
+
+    private void decode(long[] row) {
+        int j = 0;
+        while (j < columns) {
+            long token = readVarLong();
+            if (token == 0) {
+                long zeros = readVarLong();
+                for (long k=0; k<zeros; k++) {
+                    row[j++] = 0;
+                }
+            } else {
+                row[j++] = (token >>> 1) ^ -(token & 1);
+            }
+        }
+        next++;
+    }
+
+    private long readVarLong() {
+        long value = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = block[position++];
+            value |= (long) (b & 0x7F) << shift;
+            shift += 7;
+        } while (b < 0);
+        return value;
+    }
+}
@@ -0,0 +1,190 @@
+package com.ariweiland.hyperoctahedral.table;
+
+import com.ariweiland.hyperoctahedral.TableListener;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.CRC32;
+import java.util.zip.Deflater;
+
+/**
+ * Writes a table in the compressed binary format, one row at a time, so tables of any size can
+ * be streamed straight to disk. Character tables are mostly zeros and small values, so within a
+ * row every run of zeros is written as a 0 followed by the varint length of the run, and every
+ * other value as the varint of its zigzag encoding (which is never 0). Rows are grouped into
+ * blocks of rowsPerBlock rows, each block is deflated on its own, and the file ends with an index
+ * of block offsets so that a reader can seek to any row after inflating at most one block.
+ *
+ * The layout is:
+ *   header:  int magic, UTF type, int columns, int rowsPerBlock
+ *   blocks:  the deflated blocks of encoded rows, back to back
+ *   index:   int rows, int blocks, then for each block a long offset, the int length of the
+ *            encoded rows before deflating, and the int CRC32 of the deflated bytes
+ *   footer:  long index offset, int magic
+ *
+ * Rows must be written in order. The file is only complete once the writer is closed.
+ * @author Ari Weiland
+ */
+public class CompressedTableWriter implements TableListener, Closeable {
+
+    public static final int MAGIC = 0x43544231; // "CTB1"
+    public static final int DEFAULT_ROWS_PER_BLOCK = 64;
+
+    private final DataOutputStream out;
+    private final int columns;
+    private final int rowsPerBlock;
+    private final ByteArrayOutputStream block = new ByteArrayOutputStream();
+    private final ByteArrayOutputStream deflated = new ByteArrayOutputStream();
+    private final Deflater deflater = new Deflater();
+    private final byte[] buffer = new byte[1 << 12];
+    private final List<Long> offsets = new ArrayList<>();
+    private final List<Integer> lengths = new ArrayList<>();
+    private final List<Integer> checksums = new ArrayList<>();
+    private long position;
+    private int rows = 0;
+
+    public CompressedTableWriter(File file, String type, int columns) throws IOException {
+        this(file, type, columns, DEFAULT_ROWS_PER_BLOCK);
+    }
+
+    public CompressedTableWriter(File file, String type, int columns, int rowsPerBlock) throws IOException {
+        this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), 1 << 16));
+        this.columns = columns;
+        this.rowsPerBlock = rowsPerBlock;
+        out.writeInt(MAGIC);
+        out.writeUTF(type);
+        out.writeInt(columns);
+        out.writeInt(rowsPerBlock);
+        position = out.size();
+    }
+
+    /**
+     * Writes the next row.
+     * @param row
+     * @throws IOException
+     */
+    public void writeRow(long[] row) throws IOException {
+        if (row.length != columns) {
+            throw new IllegalArgumentException("Expected " + columns + " values but got " + row.length);
+        }
+        int zeros = 0;
+        for (long value : row) {
+            if (value == 0) {
+                zeros++;
+            } else {
+                if (zeros > 0) {
+                    writeZeros(zeros);
+                    zeros = 0;
+                }
+                writeVarLong(block, (value << 1) ^ (value >> 63));
+            }
+        }
+        if (zeros > 0) {
+            writeZeros(zeros);
+        }
+        rows++;
+        if (rows % rowsPerBlock == 0) {
+            flushBlock();
+        }
+    }
+
+    /**
+     * Writes the next row of an int table. The index must be the number of rows written so far.
+     * @param index
+     * @param row
+     */
+    @Override
+    public void rowGenerated(int index, int[] row) {
+        if (index != rows) {
+            throw new IllegalStateException("Expected row " + rows + " but got row " + index);
+        }
+        long[] values = new long[row.length];
+        for (int j=0; j<row.length; j++) {
+            values[j] = row[j];
+        }
+        try {
+            writeRow(values);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Writes every row of a compact table.
+     * @param table
+     * @throws IOException
+     */
+    public void writeTable(CompactTable table) throws IOException {
+        for (int i=0; i<table.getRows(); i++) {
+            writeRow(table.getRow(i));
+        }
+    }
+
+    /**
+     * Writes the last block and the index, and closes the file.
+     * @throws IOException
+     */
+    @Override
+    public void close() throws IOException {
+        try {
+            if (block.size() > 0) {
+                flushBlock();
+            }
+            out.writeInt(rows);
+            out.writeInt(offsets.size());
+            for (int b=0; b<offsets.size(); b++) {
+                out.writeLong(offsets.get(b));
+                out.writeInt(lengths.get(b));
+                out.writeInt(checksums.get(b));
+            }
+            out.writeLong(position);
+            out.writeInt(MAGIC);
+        } finally {
+            deflater.end();
+            out.close();
+        }
+    }
+
+    private void writeZeros(int zeros) {
+        block.write(0);
+        writeVarLong(block, zeros);
+    }
+
+    private void flushBlock() throws IOException {
+        deflater.reset();
+        deflater.setInput(block.toByteArray());
+        deflater.finish();
+        deflated.reset();
+        while (!deflater.finished()) {
+            deflated.write(buffer, 0, deflater.deflate(buffer));
+        }
+        CRC32 crc = new CRC32();
+        crc.update(deflated.toByteArray());
+        offsets.add(position);
+        lengths.add(block.size());
+        checksums.add((int) crc.getValue());
+        deflated.writeTo(out);
+        position += deflated.size();
+        block.reset();
+    }
+
+    /**
+     * Writes an unsigned varint: seven bits per byte, least significant first, with the high bit
+     * set on every byte but the last.
+     */
+    private static void writeVarLong(ByteArrayOutputStream out, long value) {
+        while ((value & ~0x7FL) != 0) {
+            out.write((int) (value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+        out.write((int) value);
+    }
+}
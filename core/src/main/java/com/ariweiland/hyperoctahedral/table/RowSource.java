@@ -0,0 +1,21 @@
+package com.ariweiland.hyperoctahedral.table;
+
+/**
+ * A table that hands out its rows one at a time, so that code that only needs to stream over a
+ * table works the same whether it is in memory, on disk or computed on demand. Rows come back
+ * as exact longs. Implementations must allow getRow to be called from several threads at once.
+ * @author Ari Weiland
+ */
+public interface RowSource {
+
+    int getRows();
+
+    int getColumns();
+
+    /**
+     * Returns a copy of row i.
+     * @param i
+     * @return
+     */
+    long[] getRow(int i);
+}
@@ -0,0 +1,92 @@
+package com.ariweiland.hyperoctahedral.table;
+
+/**
+ * A square real matrix in compressed sparse row form: the nonzero entries of row i are at
+ * positions rowPointers[i] through rowPointers[i + 1] - 1 of columns and values, in increasing
+ * column order. The arrays are shared, not copied, so they can be handed straight to other
+ * libraries, and must not be modified.
+ * @author Ari Weiland
+ */
+public class SparseMatrix {
+
+    private final int size;
+    private final int[] rowPointers;
+    private final int[] columns;
+    private final double[] values;
+
+    public SparseMatrix(int[] rowPointers, int[] columns, double[] values) {
+        if (rowPointers.length == 0 || columns.length != values.length
+                || rowPointers[rowPointers.length - 1] != columns.length) {
+            throw new IllegalArgumentException("The row pointers do not cover the " + columns.length + " entries.");
+        }
+        this.size = rowPointers.length - 1;
+        this.rowPointers = rowPointers;
+        this.columns = columns;
+        this.values = values;
+    }
+
+    /**
+     * Returns the number of rows, which is also the number of columns.
+     * @return
+     */
+    public int getSize() {
+        return size;
+    }
+
+    public int[] getRowPointers() {
+        return rowPointers;
+    }
+
+    public int[] getColumns() {
+        return columns;
+    }
+
+    public double[] getValues() {
+        return values;
+    }
+
+    /**
+     * Returns the number of stored entries.
+     * @return
+     */
+    public int nonZeros() {
+        return columns.length;
+    }
+
+    public double get(int i, int j) {
+        for (int p=rowPointers[i]; p<rowPointers[i + 1]; p++) {
+            if (columns[p] == j) {
+                return values[p];
+            }
+        }
+        return 0;
+    }
+
+    public double trace() {
+        double trace = 0;
+        for (int i=0; i<size; i++) {
+            trace += get(i, i);
+        }
+        return trace;
+    }
+
+    /**
+     * Returns the product of this matrix with the vector x.
+     * @param x
+     * @return
+     */
+    public double[] multiply(double[] x) {
+        if (x.length != size) {
+            throw new IllegalArgumentException("A " + size + " by " + size + " matrix cannot multiply a vector of length " + x.length + ".");
+        }
+        double[] y = new double[size];
+        for (int i=0; i<size; i++) {
+            double sum = 0;
+            for (int p=rowPointers[i]; p<rowPointers[i + 1]; p++) {
+                sum += values[p] * x[columns[p]];
+            }
+            y[i] = sum;
+        }
+        return y;
+    }
+}
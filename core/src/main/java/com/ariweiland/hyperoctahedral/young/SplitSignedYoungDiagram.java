@@ -0,0 +1,79 @@
+package com.ariweiland.hyperoctahedral.young;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Labels an irreducible character of D_n, the index 2 subgroup of H_n. The characters of
+ * {alpha, beta} and {beta, alpha} restrict to the same irreducible, which is labeled by whichever
+ * comes first, with a sign of 0. The character of {alpha, alpha} restricts to the sum of two
+ * irreducibles, labeled with signs of +1 and -1.
+ * @author Ari Weiland
+ */
+public class SplitSignedYoungDiagram {
+
+    private final SignedYoungDiagram diagram;
+    private final int sign;
+
+    public SplitSignedYoungDiagram(SignedYoungDiagram diagram, int sign) {
+        this.diagram = diagram;
+        this.sign = sign;
+    }
+
+    public SignedYoungDiagram getDiagram() {
+        return diagram;
+    }
+
+    /**
+     * Returns +1 or -1 for either half of a split character, or 0 otherwise.
+     * @return
+     */
+    public int getSign() {
+        return sign;
+    }
+
+    public boolean isSplit() {
+        return sign != 0;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) return true;
+        if (o == null || getClass() != o.getClass()) return false;
+
+        SplitSignedYoungDiagram that = (SplitSignedYoungDiagram) o;
+
+        return sign == that.sign && diagram.equals(that.diagram);
+
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * diagram.hashCode() + sign;
+    }
+
+    @Override
+    public String toString() {
+        return diagram + (sign > 0 ? "+" : sign < 0 ? "-" : "");
+    }
+
+    /**
+     * Returns the labels of all irreducible characters of D_n, in the order of
+     * SignedYoungDiagram.all(n), with the + half of a split character before the - half.
+     * @param n
+     * @return
+     */
+    public static List<SplitSignedYoungDiagram> all(int n) {
+        List<SplitSignedYoungDiagram> list = new ArrayList<>();
+        for (SignedYoungDiagram syd : SignedYoungDiagram.all(n)) {
+            int compare = syd.compareTo(syd.reverse());
+            if (compare == 0 && n > 0) {
+                list.add(new SplitSignedYoungDiagram(syd, 1));
+                list.add(new SplitSignedYoungDiagram(syd, -1));
+            } else if (compare <= 0) {
+                list.add(new SplitSignedYoungDiagram(syd, 0));
+            }
+        }
+        return list;
+    }
+}
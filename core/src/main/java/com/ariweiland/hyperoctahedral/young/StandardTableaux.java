@@ -0,0 +1,540 @@
+package com.ariweiland.hyperoctahedral.young;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * The standard tableaux of a Young diagram, or of a signed diagram (positive, negative), whose
+ * tableaux fill the boxes of both diagrams together with 1, ..., n, increasing along the rows and
+ * down the columns of each. The rows of a signed diagram are numbered through both, positive
+ * first, so a tableau is the row of each entry, and its block is that of its row.
+ *
+ * Tableaux are ordered by where n sits, then n - 1, and so on, comparing rows, so each is built
+ * by peeling corners off the diagram. The number of tableaux of every diagram inside this one is
+ * counted once, by removing corners, from which the position of a tableau in the order follows
+ * as the tableaux skipped over at each step. The counts are indexed in mixed radix, with a digit
+ * for the length of each row, or keyed by the row lengths themselves when there are too many rows
+ * for the index to fit in a long, and each agrees with the hook length formula. So the tableaux
+ * are ranked and unranked in O(n * rows), without listing them.
+ *
+ * Iterating, streaming and splitting all walk a cursor, which holds one tableau in place and is
+ * moved from each to the next, so nothing is allocated per tableau. A stream hands out the same
+ * cursor each time, moved on, which must be read before the next one is asked for. Splitting
+ * halves a range of ranks, and each half unranks its first tableau when it is first walked, so
+ * parallel streams divide the work evenly.
+ * @author Ari Weiland
+ */
+public final class StandardTableaux implements Iterable<StandardTableaux.Cursor> {
+
+    private static final int MAX_DENSE = 1 << 22;
+
+    private final int size;
+    private final int[] shape;
+    private final int split; // the number of rows in the positive diagram
+    private final long[] radix; // all 0 if the counts are keyed by shape
+    private final boolean keyed;
+    private final long[] dense;
+    private final Map<Object, Long> sparse;
+
+    public StandardTableaux(YoungDiagram yd) {
+        this(yd.getPartition().getPartition(), new int[0]);
+    }
+
+    public StandardTableaux(SignedYoungDiagram syd) {
+        this(syd.getPositive().getPartition().getPartition(), syd.getNegative().getPartition().getPartition());
+    }
+
+    private StandardTableaux(int[] positive, int[] negative) {
+        this.shape = new int[positive.length + negative.length];
+        System.arraycopy(positive, 0, shape, 0, positive.length);
+        System.arraycopy(negative, 0, shape, positive.length, negative.length);
+        this.split = positive.length;
+        this.radix = new long[shape.length];
+        int size = 0;
+        long product = 1;
+        for (int r=0; r<shape.length; r++) {
+            size += shape[r];
+            if (product > 0) {
+                radix[r] = product;
+                product = product <= Long.MAX_VALUE / (shape[r] + 1) ? product * (shape[r] + 1) : 0;
+            }
+        }
+        this.size = size;
+        this.keyed = product == 0;
+        if (keyed) {
+            Arrays.fill(radix, 0);
+        }
+        Map<Object, Long> counts = new HashMap<>();
+        counts.put(key(new int[shape.length], 0, true), 1L);
+        count(shape.clone(), index(shape), counts);
+        if (!keyed && product <= MAX_DENSE) {
+            this.dense = new long[(int) product];
+            for (Map.Entry<Object, Long> e : counts.entrySet()) {
+                dense[((Long) e.getKey()).intValue()] = e.getValue();
+            }
+            this.sparse = null;
+        } else {
+            this.dense = null;
+            this.sparse = counts;
+        }
+    }
+
+    /**
+     * Returns n, the number of boxes.
+     * @return
+     */
+    public int getSize() {
+        return size;
+    }
+
+    /**
+     * Returns the number of rows, through both diagrams of a signed diagram.
+     * @return
+     */
+    public int getRows() {
+        return shape.length;
+    }
+
+    /**
+     * Returns 0 if row r is in the positive diagram, or 1 if it is in the negative one.
+     * @param r
+     * @return
+     */
+    public int block(int r) {
+        return r < split ? 0 : 1;
+    }
+
+    /**
+     * Returns the content of box (r, c), its column less its row within its diagram.
+     * @param r
+     * @param c
+     * @return
+     */
+    public int content(int r, int c) {
+        return c - (r < split ? r : r - split);
+    }
+
+    /**
+     * Returns the number of standard tableaux, which is the dimension of the irreducible.
+     * @return
+     */
+    public long count() {
+        return count(shape, index(shape));
+    }
+
+    /**
+     * Returns a cursor on the first tableau.
+     * @return
+     */
+    public Cursor cursor() {
+        return new Cursor();
+    }
+
+    /**
+     * Returns a cursor on the tableau of the given rank.
+     * @param rank
+     * @return
+     */
+    public Cursor unrank(long rank) {
+        Cursor cursor = new Cursor();
+        cursor.seek(rank);
+        return cursor;
+    }
+
+    /**
+     * Returns the rank of a tableau, given the row of each entry from 1 to n, in rows[0] through
+     * rows[n - 1]. Throws an IllegalArgumentException if they are not a standard tableau.
+     * @param rows
+     * @return
+     */
+    public long rank(int[] rows) {
+        if (rows.length != size) {
+            throw new IllegalArgumentException("A tableau of " + size + " boxes cannot have " + rows.length + " entries.");
+        }
+        int[] partial = new int[shape.length];
+        long index = 0;
+        long rank = 0;
+        for (int k=0; k<size; k++) {
+            int r = rows[k];
+            if (r < 0 || r >= shape.length || partial[r] == shape[r]
+                    || (r != 0 && r != split && partial[r] == partial[r - 1])) {
+                throw new IllegalArgumentException("Entry " + (k + 1) + " cannot go in row " + r + ".");
+            }
+            partial[r]++;
+            index += radix[r];
+            rank += skipped(partial, index, r);
+        }
+        return rank;
+    }
+
+    /**
+     * Returns an iterator that hands out one cursor, moved on to the next tableau each time.
+     * @return
+     */
+    @Override
+    public Iterator<Cursor> iterator() {
+        return new Iterator<Cursor>() {
+            private final Cursor cursor = new Cursor();
+            private long position = 0;
+
+            @Override
+            public boolean hasNext() {
+                return position < count();
+            }
+
+            @Override
+            public Cursor next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException();
+                }
+                if (position++ > 0) {
+                    cursor.next();
+                }
+                return cursor;
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<Cursor> spliterator() {
+        return new Tableaux(0, count());
+    }
+
+    /**
+     * Returns a stream of the tableaux, as one cursor per thread, moved on each time.
+     * @param parallel
+     * @return
+     */
+    public Stream<Cursor> stream(boolean parallel) {
+        return StreamSupport.stream(spliterator(), parallel);
+    }
+
+    /**
+     * Returns the number of tableaux of the given diagram, whose index is given too.
+     */
+    private long count(int[] shape, long index) {
+        if (dense != null) {
+            return dense[(int) index];
+        }
+        Long count = sparse.get(key(shape, index, false));
+        return count == null ? 0 : count;
+    }
+
+    /**
+     * Returns the number of tableaux of the given diagram less a box in row r.
+     */
+    private long countWithout(int[] shape, long index, int r) {
+        shape[r]--;
+        long count = count(shape, index - radix[r]);
+        shape[r]++;
+        return count;
+    }
+
+    /**
+     * Returns the key of a diagram in the counts, which is its index, or its row lengths if the
+     * counts are keyed by shape. A key that is stored must copy them.
+     */
+    private Object key(int[] shape, long index, boolean copy) {
+        if (!keyed) {
+            return index;
+        }
+        return new Shape(copy ? shape.clone() : shape);
+    }
+
+    /**
+     * Counts the tableaux of the diagram and every diagram inside it, by removing each corner.
+     */
+    private long count(int[] shape, long index, Map<Object, Long> counts) {
+        Long known = counts.get(key(shape, index, false));
+        if (known != null) {
+            return known;
+        }
+        long count = 0;
+        for (int r=0; r<shape.length; r++) {
+            if (isCorner(shape, r)) {
+                shape[r]--;
+                try {
+                    count = Math.addExact(count, count(shape, index - radix[r], counts));
+                } catch (ArithmeticException e) {
+                    throw new ArithmeticException("The number of tableaux does not fit in a long.");
+                }
+                shape[r]++;
+            }
+        }
+        counts.put(key(shape, index, true), count);
+        return count;
+    }
+
+    private boolean isCorner(int[] shape, int r) {
+        return shape[r] > 0 && (r == split - 1 || r == shape.length - 1 || shape[r] > shape[r + 1]);
+    }
+
+    private long index(int[] shape) {
+        long index = 0;
+        for (int r=0; r<shape.length; r++) {
+            index += shape[r] * radix[r];
+        }
+        return index;
+    }
+
+    /**
+     * Returns the number of tableaux of the given diagram that put its largest entry in a corner
+     * above row r, which are those skipped over by putting it in row r.
+     */
+    private long skipped(int[] shape, long index, int r) {
+        long skipped = 0;
+        for (int s=0; s<r; s++) {
+            if (isCorner(shape, s)) {
+                skipped += countWithout(shape, index, s);
+            }
+        }
+        return skipped;
+    }
+
+    /**
+     * Walks the tableaux in order, one at a time, holding the current tableau as the row and
+     * column of each entry. A cursor is not thread safe, but any number of cursors may walk the
+     * same tableaux at once.
+     */
+    public final class Cursor {
+
+        private final int[] rows = new int[size];
+        private final int[] columns = new int[size];
+        private final int[] scratch = new int[shape.length];
+        private long rank;
+
+        private Cursor() {
+            System.arraycopy(shape, 0, scratch, 0, shape.length);
+            fill(size);
+        }
+
+        /**
+         * Returns the row of entry k, from 1 to n.
+         * @param k
+         * @return
+         */
+        public int row(int k) {
+            return rows[k - 1];
+        }
+
+        /**
+         * Returns the column of entry k, from 1 to n.
+         * @param k
+         * @return
+         */
+        public int column(int k) {
+            return columns[k - 1];
+        }
+
+        /**
+         * Returns the position of the current tableau in the order, from 0.
+         * @return
+         */
+        public long rank() {
+            return rank;
+        }
+
+        /**
+         * Returns the block of entry k, from 1 to n.
+         * @param k
+         * @return
+         */
+        public int block(int k) {
+            return StandardTableaux.this.block(rows[k - 1]);
+        }
+
+        /**
+         * Moves to the tableau of the given rank.
+         * @param rank
+         */
+        public void seek(long rank) {
+            if (rank < 0 || rank >= count()) {
+                throw new IllegalArgumentException("There is no tableau of rank " + rank + " among " + count() + ".");
+            }
+            System.arraycopy(shape, 0, scratch, 0, shape.length);
+            long index = index(shape);
+            long left = rank;
+            for (int j=size-1; j>=0; j--) {
+                int r = 0;
+                while (true) {
+                    if (isCorner(scratch, r)) {
+                        long skipped = countWithout(scratch, index, r);
+                        if (left < skipped) {
+                            break;
+                        }
+                        left -= skipped;
+                    }
+                    r++;
+                }
+                scratch[r]--;
+                index -= radix[r];
+                rows[j] = r;
+                columns[j] = scratch[r];
+            }
+            this.rank = rank;
+        }
+
+        /**
+         * Copies the row of each entry into rows, as rank takes them.
+         * @param rows
+         */
+        public void copyRows(int[] rows) {
+            System.arraycopy(this.rows, 0, rows, 0, size);
+        }
+
+        /**
+         * Moves to the next tableau, returning false if this was the last.
+         * @return
+         */
+        public boolean next() {
+            Arrays.fill(scratch, 0);
+            for (int k=0; k<size; k++) {
+                scratch[rows[k]]++;
+                // move entry k + 1 to a lower corner, then refill the entries below it
+                for (int r=rows[k]+1; r<shape.length; r++) {
+                    if (isCorner(scratch, r)) {
+                        scratch[r]--;
+                        rows[k] = r;
+                        columns[k] = scratch[r];
+                        fill(k);
+                        rank++;
+                        return true;
+                    }
+                }
+            }
+            return false;
+        }
+
+        /**
+         * Returns the rank of the tableau with entries i and i + 1 swapped, which must not share
+         * a row or a column. Only the steps that place i and i + 1 differ, so this takes O(i).
+         * @param i
+         * @return
+         */
+        public long swappedRank(int i) {
+            Arrays.fill(scratch, 0);
+            for (int k=0; k<=i; k++) {
+                scratch[rows[k]]++;
+            }
+            long index = index(scratch);
+            int a = rows[i - 1];
+            int b = rows[i];
+            long before = skipped(scratch, index, b);
+            long after = skipped(scratch, index, a);
+            scratch[b]--;
+            before += skipped(scratch, index - radix[b], a);
+            scratch[b]++;
+            scratch[a]--;
+            after += skipped(scratch, index - radix[a], b);
+            return rank - before + after;
+        }
+
+        /**
+         * Puts entries k, k - 1, ..., 1 in the highest corner left, emptying the scratch diagram.
+         */
+        private void fill(int k) {
+            for (int j=k-1; j>=0; j--) {
+                int r = 0;
+                while (!isCorner(scratch, r)) {
+                    r++;
+                }
+                scratch[r]--;
+                rows[j] = r;
+                columns[j] = scratch[r];
+            }
+        }
+    }
+
+    /**
+     * The row lengths of a diagram, as a key in the counts.
+     */
+    private static final class Shape {
+
+        private final int[] rows;
+
+        private Shape(int[] rows) {
+            this.rows = rows;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            return o instanceof Shape && Arrays.equals(rows, ((Shape) o).rows);
+        }
+
+        @Override
+        public int hashCode() {
+            return Arrays.hashCode(rows);
+        }
+    }
+
+    /**
+     * Walks the tableaux with ranks from the start to the end, with one cursor that is placed on
+     * the first of them when the walk begins.
+     */
+    private final class Tableaux implements Spliterator<Cursor> {
+
+        private long start;
+        private final long end;
+        private Cursor cursor;
+
+        private Tableaux(long start, long end) {
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Cursor> action) {
+            if (start >= end) {
+                return false;
+            }
+            advance();
+            action.accept(cursor);
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Cursor> action) {
+            while (start < end) {
+                advance();
+                action.accept(cursor);
+            }
+        }
+
+        @Override
+        public Spliterator<Cursor> trySplit() {
+            if (cursor != null || end - start < 2) {
+                return null;
+            }
+            long middle = start + (end - start) / 2;
+            Tableaux first = new Tableaux(start, middle);
+            start = middle;
+            return first;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - start;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL;
+        }
+
+        private void advance() {
+            if (cursor == null) {
+                cursor = unrank(start);
+            } else {
+                cursor.next();
+            }
+            start++;
+        }
+    }
+}
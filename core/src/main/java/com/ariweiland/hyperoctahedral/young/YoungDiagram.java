@@ -109,6 +109,103 @@ public class YoungDiagram extends AbstractYoungDiagram<YoungDiagram> {
         return reduced;
     }
 
+    /**
+     * Returns the p-core, the diagram left once no rim hook of length p can be removed. On the
+     * p-abacus of the beta numbers lambda_i + r - 1 - i, which has a runner for each residue mod
+     * p, removing a p-hook moves a bead one place up its runner, so the core is read off with
+     * every bead pushed to the top. This takes time linear in the size of the diagram.
+     * @param p
+     * @return
+     */
+    public YoungDiagram core(int p) {
+        int[][] runners = abacus(p);
+        int r = 0;
+        int height = 0;
+        for (int[] runner : runners) {
+            r += runner.length;
+            height = Math.max(height, runner.length);
+        }
+        // read the pushed-up beads from the last position to the first
+        int[] core = new int[r];
+        int i = 0;
+        for (int position=height*p-1; position>=0; position--) {
+            if (position / p < runners[position % p].length) {
+                core[i] = position - (r - 1 - i);
+                i++;
+            }
+        }
+        return new YoungDiagram(trim(core));
+    }
+
+    /**
+     * Returns the p-quotient, the p diagrams read off the runners of the p-abacus of lambda with
+     * a multiple of p beads, so the quotient of lambda and its reflection are reflections of each
+     * other in reverse order. The sizes of the quotient add up to the p-weight.
+     * @param p
+     * @return
+     */
+    public YoungDiagram[] quotient(int p) {
+        int[][] runners = abacus(p);
+        YoungDiagram[] quotient = new YoungDiagram[p];
+        for (int j=0; j<p; j++) {
+            int[] levels = runners[j];
+            int[] parts = new int[levels.length];
+            for (int t=0; t<levels.length; t++) {
+                parts[t] = levels[t] - (levels.length - 1 - t);
+            }
+            quotient[j] = new YoungDiagram(trim(parts));
+        }
+        return quotient;
+    }
+
+    /**
+     * Returns the p-weight, the number of p-hooks removed to reach the p-core.
+     * @param p
+     * @return
+     */
+    public int weight(int p) {
+        return (partition.getSize() - core(p).partition.getSize()) / p;
+    }
+
+    /**
+     * Returns the levels of the beads on each runner of the p-abacus, from the bottom up, placing
+     * a multiple of p beads.
+     */
+    private int[][] abacus(int p) {
+        if (p < 2) {
+            throw new IllegalArgumentException("An abacus needs at least 2 runners, not " + p + ".");
+        }
+        int[] parts = partition.getPartition();
+        int r = (parts.length + p - 1) / p * p;
+        int[] counts = new int[p];
+        for (int i=0; i<r; i++) {
+            counts[(part(parts, i) + r - 1 - i) % p]++;
+        }
+        int[][] runners = new int[p][];
+        for (int j=0; j<p; j++) {
+            runners[j] = new int[counts[j]];
+            counts[j] = 0;
+        }
+        // the beta numbers decrease, so each runner fills from the bottom up
+        for (int i=0; i<r; i++) {
+            int beta = part(parts, i) + r - 1 - i;
+            runners[beta % p][counts[beta % p]++] = beta / p;
+        }
+        return runners;
+    }
+
+    private static int part(int[] parts, int i) {
+        return i < parts.length ? parts[i] : 0;
+    }
+
+    private static int[] trim(int[] parts) {
+        int length = parts.length;
+        while (length > 0 && parts[length - 1] == 0) {
+            length--;
+        }
+        return Arrays.copyOf(parts, length);
+    }
+
     @Override
     public int compareTo(YoungDiagram o) {
         // compare by length
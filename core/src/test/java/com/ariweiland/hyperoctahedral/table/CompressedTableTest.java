@@ -0,0 +1,158 @@
+package com.ariweiland.hyperoctahedral.table;
+
+import com.ariweiland.hyperoctahedral.CharacterTableGenerator;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.ByteBuffer;
+import java.nio.file.Files;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Round trips tables through CompressedTableWriter and CompressedTableReader.
+ * @author Ari Weiland
+ */
+public class CompressedTableTest {
+
+    private static final int ROWS_PER_BLOCK = 4;
+
+    @TempDir
+    File directory;
+
+    /**
+     * Rows of extreme values and zero runs, 10 of them so the last of 3 blocks is partial.
+     */
+    private static long[][] table() {
+        long[][] table = new long[10][];
+        for (int i=0; i<table.length; i++) {
+            table[i] = new long[] {0, 0, 0, i, -i, 0, Long.MIN_VALUE, Long.MAX_VALUE, 0, 1L << (i * 6), 0, 0};
+        }
+        table[3] = new long[12];
+        table[7] = new long[] {Long.MIN_VALUE, -1, 1, Long.MIN_VALUE + 1, 0, 0, 0, 0, 0, 0, 0, Long.MIN_VALUE};
+        return table;
+    }
+
+    private File write(long[][] table) throws IOException {
+        File file = new File(directory, "T.ctb");
+        try (CompressedTableWriter writer = new CompressedTableWriter(file, "T", table[0].length, ROWS_PER_BLOCK)) {
+            for (long[] row : table) {
+                writer.writeRow(row);
+            }
+        }
+        return file;
+    }
+
+    @Test
+    public void testRoundTrip() throws IOException {
+        long[][] table = table();
+        try (CompressedTableReader reader = new CompressedTableReader(write(table))) {
+            assertEquals("T", reader.getType());
+            assertEquals(table.length, reader.getRows());
+            assertEquals(table[0].length, reader.getColumns());
+            for (int i=0; i<table.length; i++) {
+                assertArrayEquals(table[i], reader.readRow(i), "row " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testSeek() throws IOException {
+        long[][] table = table();
+        try (CompressedTableReader reader = new CompressedTableReader(write(table))) {
+            // backwards within a block, across block boundaries, and again to a loaded block
+            for (int i : new int[] {6, 5, 4, 3, 9, 0, 7, 7, 8, 1}) {
+                assertArrayEquals(table[i], reader.readRow(i), "row " + i);
+            }
+            try {
+                reader.readRow(table.length);
+                fail("Read past the last row.");
+            } catch (IndexOutOfBoundsException e) {
+                // expected
+            }
+        }
+    }
+
+    @Test
+    public void testBuffer() throws IOException {
+        long[][] table = table();
+        byte[] bytes = Files.readAllBytes(write(table).toPath());
+        ByteBuffer buffer = ByteBuffer.allocate(bytes.length + 3);
+        buffer.put(new byte[3]).put(bytes).position(3);
+        CompressedTableReader reader = new CompressedTableReader(buffer, "buffer");
+        assertEquals(3, buffer.position());
+        for (int i=table.length-1; i>=0; i--) {
+            assertArrayEquals(table[i], reader.readRow(i), "row " + i);
+        }
+    }
+
+    @Test
+    public void testCharacterTable() throws IOException {
+        CompactTable table = new CharacterTableGenerator().generateCompactTable("H5");
+        File file = new File(directory, "H5.ctb");
+        try (CompressedTableWriter writer = new CompressedTableWriter(file, "H5", table.getColumns())) {
+            writer.writeTable(table);
+        }
+        try (CompressedTableReader reader = new CompressedTableReader(file)) {
+            CompactTable read = reader.readTable();
+            for (int i=0; i<table.getRows(); i++) {
+                assertArrayEquals(table.getRow(i), read.getRow(i), "row " + i);
+            }
+        }
+    }
+
+    @Test
+    public void testCorruptBlock() throws IOException {
+        long[][] table = table();
+        File file = write(table);
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            // the header is 4 + 2 + 1 + 4 + 4 bytes, so this is inside the first block
+            raf.seek(17);
+            int b = raf.read();
+            raf.seek(17);
+            raf.write(b ^ 0xFF);
+        }
+        try (CompressedTableReader reader = new CompressedTableReader(file)) {
+            try {
+                reader.readRow(1);
+                fail("Read a corrupt block.");
+            } catch (IOException e) {
+                assertTrue(e.getMessage().contains("corrupt"), e.getMessage());
+            }
+            assertArrayEquals(table[5], reader.readRow(5));
+        }
+    }
+
+    @Test
+    public void testTruncated() throws IOException {
+        File file = write(table());
+        try (RandomAccessFile raf = new RandomAccessFile(file, "rw")) {
+            raf.setLength(raf.length() - 1);
+        }
+        try {
+            new CompressedTableReader(file).close();
+            fail("Opened a truncated file.");
+        } catch (IOException e) {
+            // expected
+        }
+    }
+
+    @Test
+    public void testWrongWidth() throws IOException {
+        File file = new File(directory, "W.ctb");
+        try (CompressedTableWriter writer = new CompressedTableWriter(file, "W", 3)) {
+            try {
+                writer.writeRow(new long[2]);
+                fail("Wrote a row of the wrong width.");
+            } catch (IllegalArgumentException e) {
+                // expected
+            }
+        }
+    }
+}
@@ -0,0 +1,214 @@
+package com.ariweiland.hyperoctahedral;
+
+import com.ariweiland.hyperoctahedral.table.RowSource;
+
+import javax.swing.*;
+import javax.swing.table.AbstractTableModel;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * A table model over a RowSource, such as a LazyTable or a CompressedTableReader, of exact long
+ * values. Rows are labeled by their Young diagrams and columns by their partitions. JTable only
+ * asks the model for the cells that are visible, and the first time a row is asked for, it is
+ * fetched on a background thread and shown blank until it arrives. The most recently asked for
+ * rows are fetched first, so scrolling stays responsive, and fetched rows are kept in a cache
+ * of at most MAX_CACHED_CELLS cells, dropping the least recently shown. Rows computed elsewhere
+ * can also be handed in with setRow.
+ * @author Ari Weiland
+ */
+public class CharacterTableModel extends AbstractTableModel {
+
+    private static final long serialVersionUID = 1L;
+
+    public static final int MAX_CACHED_CELLS = 1 << 23;
+
+    private final List<String> rowLabels;
+    private final List<String> columnLabels;
+    private final RowSource source;
+    private final Map<Integer, long[]> cache;
+    private final Set<Integer> pending = new HashSet<>();
+    private final ExecutorService fetcher;
+
+    /**
+     * Constructs an empty model with no rows or columns.
+     */
+    public CharacterTableModel() {
+        this(Collections.emptyList(), Collections.emptyList(), null);
+    }
+
+    /**
+     * Constructs a model over the source, whose rows and columns have the given labels.
+     * @param rowLabels
+     * @param columnLabels
+     * @param source
+     */
+    public CharacterTableModel(List<?> rowLabels, List<?> columnLabels, RowSource source) {
+        this.rowLabels = labels(rowLabels);
+        this.columnLabels = labels(columnLabels);
+        this.source = source;
+        final int maxRows = Math.max(64, MAX_CACHED_CELLS / Math.max(1, columnLabels.size()));
+        this.cache = new LinkedHashMap<Integer, long[]>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<Integer, long[]> eldest) {
+                return size() > maxRows;
+            }
+        };
+        // a single thread that takes the newest request first
+        this.fetcher = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new LinkedBlockingDeque<Runnable>() {
+            @Override
+            public boolean offer(Runnable runnable) {
+                return offerFirst(runnable);
+            }
+        }, new ThreadFactory() {
+            @Override
+            public Thread newThread(Runnable runnable) {
+                Thread thread = new Thread(runnable, "row-fetcher");
+                thread.setDaemon(true);
+                return thread;
+            }
+        });
+    }
+
+    /**
+     * Sets a finished row and notifies the table. Must be called on the event thread.
+     * @param index
+     * @param row
+     */
+    public void setRow(int index, long[] row) {
+        cache.put(index, row);
+        fireTableRowsUpdated(index, index);
+    }
+
+    /**
+     * Stops fetching rows. Called once the model is no longer shown.
+     */
+    public void dispose() {
+        fetcher.shutdownNow();
+    }
+
+    public List<String> getRowLabels() {
+        return rowLabels;
+    }
+
+    public List<String> getColumnLabels() {
+        return columnLabels;
+    }
+
+    /**
+     * Returns the index of the first row label matching the query, or -1 if there is none.
+     * Whitespace is ignored, and an exact match is preferred over a partial one.
+     * @param query
+     * @return
+     */
+    public int findRow(String query) {
+        return find(rowLabels, query);
+    }
+
+    /**
+     * Returns the index of the first column label matching the query, or -1 if there is none.
+     * Whitespace is ignored, and an exact match is preferred over a partial one.
+     * @param query
+     * @return
+     */
+    public int findColumn(String query) {
+        return find(columnLabels, query);
+    }
+
+    @Override
+    public int getRowCount() {
+        return rowLabels.size();
+    }
+
+    @Override
+    public int getColumnCount() {
+        return columnLabels.size();
+    }
+
+    @Override
+    public String getColumnName(int column) {
+        return columnLabels.get(column);
+    }
+
+    @Override
+    public Class<?> getColumnClass(int columnIndex) {
+        return Long.class;
+    }
+
+    @Override
+    public Object getValueAt(int rowIndex, int columnIndex) {
+        long[] row = cache.get(rowIndex);
+        if (row == null) {
+            fetch(rowIndex);
+            return null;
+        }
+        return row[columnIndex];
+    }
+
+    /**
+     * Asks the background thread for a row, unless it has already been asked for.
+     */
+    private void fetch(final int index) {
+        if (source == null || fetcher.isShutdown() || !pending.add(index)) {
+            return;
+        }
+        fetcher.execute(new Runnable() {
+            @Override
+            public void run() {
+                final long[] row;
+                try {
+                    row = source.getRow(index);
+                } catch (CancellationException e) {
+                    return; // disposed
+                }
+                SwingUtilities.invokeLater(new Runnable() {
+                    @Override
+                    public void run() {
+                        pending.remove(index);
+                        setRow(index, row);
+                    }
+                });
+            }
+        });
+    }
+
+    private static List<String> labels(List<?> objects) {
+        List<String> labels = new ArrayList<>(objects.size());
+        for (Object o : objects) {
+            labels.add(o.toString());
+        }
+        return labels;
+    }
+
+    private static int find(List<String> labels, String query) {
+        String target = normalize(query);
+        if (target.isEmpty()) {
+            return -1;
+        }
+        int partial = -1;
+        for (int i=0; i<labels.size(); i++) {
+            String label = normalize(labels.get(i));
+            if (label.equals(target)) {
+                return i;
+            } else if (partial < 0 && label.contains(target)) {
+                partial = i;
+            }
+        }
+        return partial;
+    }
+
+    private static String normalize(String s) {
+        return s.replaceAll("\\s", "");
+    }
+}
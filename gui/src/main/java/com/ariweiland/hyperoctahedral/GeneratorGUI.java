@@ -0,0 +1,257 @@
+package com.ariweiland.hyperoctahedral;
+
+import acm.program.Program;
+import com.ariweiland.hyperoctahedral.partition.IntegerPartition;
+import com.ariweiland.hyperoctahedral.partition.SignedIntegerPartition;
+import com.ariweiland.hyperoctahedral.table.RowSource;
+import com.ariweiland.hyperoctahedral.young.SignedYoungDiagram;
+import com.ariweiland.hyperoctahedral.young.YoungDiagram;
+
+import javax.swing.*;
+import java.awt.*;
+import java.awt.event.ActionEvent;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ExecutionException;
+import java.util.regex.Pattern;
+
+/**
+ * @author Ari Weiland
+ */
+public class GeneratorGUI extends Program {
+
+    /**
+     * The memo bound of each thread computing rows for the display.
+     */
+    public static final int MAX_MEMO_SIZE = 1 << 22;
+
+    private final ButtonGroup group = new ButtonGroup();
+    private final JRadioButton symmetric = new JRadioButton("Symmetric");
+    private final JRadioButton hyperoctahedral = new JRadioButton("Hyperoctahedral");
+    private boolean isSymmetric;
+
+    private final JTextField size = new JTextField("0");
+
+    private final JButton generate = new JButton("Generate!");
+    private final JButton cancel = new JButton("Cancel");
+    private final JButton clear = new JButton("Clear");
+    private final JProgressBar progress = new JProgressBar();
+
+    private final JTextField search = new JTextField();
+    private final JButton find = new JButton("Find");
+
+    private final JTable table = new JTable(new CharacterTableModel());
+    private final JList<String> rowHeader = new JList<>();
+
+    private TableWorker worker;
+
+    @Override
+    public void init() {
+        setSize(800, 600);
+
+        group.add(symmetric);
+        add(symmetric, WEST);
+        symmetric.addActionListener(this);
+
+        group.add(hyperoctahedral);
+        add(hyperoctahedral, WEST);
+        hyperoctahedral.addActionListener(this);
+
+        symmetric.doClick();
+
+        add(size, WEST);
+        size.addActionListener(this);
+
+        add(generate, WEST);
+        add(cancel, WEST);
+        add(clear, WEST);
+        add(progress, WEST);
+        cancel.setEnabled(false);
+        progress.setStringPainted(true);
+
+        add(search, WEST);
+        search.addActionListener(this);
+        add(find, WEST);
+
+        table.setAutoResizeMode(JTable.AUTO_RESIZE_OFF);
+        table.setCellSelectionEnabled(true);
+        rowHeader.setFixedCellHeight(table.getRowHeight());
+        rowHeader.setBackground(table.getTableHeader().getBackground());
+        JScrollPane scroll = new JScrollPane(table);
+        scroll.setRowHeaderView(rowHeader);
+        add(scroll, CENTER);
+
+        addActionListeners();
+    }
+
+    @Override
+    public void actionPerformed(ActionEvent e) {
+        Object source = e.getSource();
+        if (source.equals(symmetric)) {
+            isSymmetric = true;
+        } else if (source.equals(hyperoctahedral)) {
+            isSymmetric = false;
+        } else if (source.equals(size) || source.equals(generate)) {
+            String temp = size.getText();
+            if (worker != null) {
+                JOptionPane.showMessageDialog(null, "A table is already being generated. Cancel it first.", "Busy", JOptionPane.ERROR_MESSAGE);
+            } else if (Pattern.matches("\\d+", temp)) {
+                clear();
+                generateTable(Integer.parseInt(temp));
+            } else {
+                JOptionPane.showMessageDialog(null, "\'" + temp + "\' is not a valid size. Please specify a non-negative integer.", "Invalid Size", JOptionPane.ERROR_MESSAGE);
+            }
+        } else if (source.equals(cancel)) {
+            if (worker != null) {
+                worker.cancel(true);
+            }
+        } else if (source.equals(clear)) {
+            clear();
+        } else if (source.equals(search) || source.equals(find)) {
+            find(search.getText());
+        }
+    }
+
+    /**
+     * Shows the table over a LazyTable, whose visible rows are computed as they are scrolled to,
+     * and starts a background worker that computes every row in order. Rows fill into the table
+     * as they arrive.
+     * @param n
+     */
+    public void generateTable(int n) {
+        LazyTable source = new LazyTable((isSymmetric ? "S" : "H") + n, MAX_MEMO_SIZE);
+        if (isSymmetric) {
+            setModel(new CharacterTableModel(YoungDiagram.all(n), IntegerPartition.all(n), source));
+        } else {
+            setModel(new CharacterTableModel(SignedYoungDiagram.all(n), SignedIntegerPartition.all(n), source));
+        }
+        worker = new TableWorker(source, getModel());
+        generate.setEnabled(false);
+        cancel.setEnabled(true);
+        progress.setValue(0);
+        progress.setString(null);
+        worker.execute();
+    }
+
+    /**
+     * Selects and scrolls to the row or column whose label matches the query, preferring rows.
+     * @param query
+     */
+    public void find(String query) {
+        CharacterTableModel model = getModel();
+        int row = model.findRow(query);
+        int column = model.findColumn(query);
+        if (row >= 0) {
+            table.setRowSelectionInterval(row, row);
+            table.setColumnSelectionInterval(0, model.getColumnCount() - 1);
+            table.scrollRectToVisible(table.getCellRect(row, 0, true));
+        } else if (column >= 0) {
+            table.setRowSelectionInterval(0, model.getRowCount() - 1);
+            table.setColumnSelectionInterval(column, column);
+            Rectangle visible = table.getVisibleRect();
+            Rectangle cell = table.getCellRect(0, column, true);
+            table.scrollRectToVisible(new Rectangle(cell.x, visible.y, cell.width, visible.height));
+        } else {
+            JOptionPane.showMessageDialog(null, "No row or column matches \'" + query + "\'.", "Not Found", JOptionPane.ERROR_MESSAGE);
+        }
+    }
+
+    public void clear() {
+        if (worker != null) {
+            worker.cancel(true);
+        }
+        setModel(new CharacterTableModel());
+    }
+
+    private CharacterTableModel getModel() {
+        return (CharacterTableModel) table.getModel();
+    }
+
+    private void setModel(final CharacterTableModel model) {
+        if (table.getModel() instanceof CharacterTableModel) {
+            getModel().dispose();
+        }
+        table.setModel(model);
+        rowHeader.setModel(new AbstractListModel<String>() {
+            @Override
+            public int getSize() {
+                return model.getRowCount();
+            }
+
+            @Override
+            public String getElementAt(int index) {
+                return model.getRowLabels().get(index);
+            }
+        });
+    }
+
+    public static void main(String[] args) {
+        new GeneratorGUI().start();
+    }
+
+    /**
+     * Computes every row of a table off the event thread, in order, publishing each finished row
+     * back to it. Cancelling lets a new worker start before this one's thread has left the cell
+     * it is in, so each worker computes from its own LazyTable, whose generators are its own, and
+     * a cancelled worker stops touching the display.
+     */
+    private class TableWorker extends SwingWorker<Void, TableWorker.Row> {
+
+        private final RowSource source;
+        private final CharacterTableModel model;
+
+        private TableWorker(RowSource source, CharacterTableModel model) {
+            this.source = source;
+            this.model = model;
+        }
+
+        @Override
+        protected Void doInBackground() {
+            for (int i=0; i<source.getRows() && !isCancelled(); i++) {
+                publish(new Row(i, source.getRow(i)));
+            }
+            return null;
+        }
+
+        @Override
+        protected void process(List<Row> rows) {
+            if (isCancelled()) {
+                return;
+            }
+            for (Row row : rows) {
+                int index = row.index;
+                model.setRow(index, row.values);
+                progress.setValue(100 * (index + 1) / source.getRows());
+                progress.setString((index + 1) + " / " + source.getRows() + " rows");
+            }
+        }
+
+        @Override
+        protected void done() {
+            try {
+                get();
+            } catch (CancellationException e) {
+                progress.setString("Cancelled");
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            } catch (ExecutionException e) {
+                JOptionPane.showMessageDialog(null, e.getCause().toString(), "Generation Failed", JOptionPane.ERROR_MESSAGE);
+            }
+            if (worker == this) {
+                worker = null;
+                generate.setEnabled(true);
+                cancel.setEnabled(false);
+            }
+        }
+
+        private class Row {
+            private final int index;
+            private final long[] values;
+
+            private Row(int index, long[] values) {
+                this.index = index;
+                this.values = values;
+            }
+        }
+    }
+}